@@ -0,0 +1,33 @@
+package actors;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import akka.actor.AbstractActor;
+
+/**
+ * Recording sink for headless games (simulation.HeadlessGame). It takes the place of the
+ * websocket ActorRef of the front-end UI and keeps every command sent to it, so a game
+ * can be replayed or checked once it has been simulated.
+ *
+ */
+public class CommandRecorder extends AbstractActor {
+
+	private final List<JsonNode> recorded; // Commands received so far, in the order they were sent
+
+	/**
+	 * @param recorded list the commands are added to, must be safe to read from other threads (e.g. Collections.synchronizedList)
+	 */
+	public CommandRecorder(List<JsonNode> recorded) {
+		this.recorded = recorded;
+	}
+
+	@Override
+	public Receive createReceive() {
+		return receiveBuilder()
+				.match(JsonNode.class, command -> {
+					recorded.add(command);
+				}).build();
+	}
+}
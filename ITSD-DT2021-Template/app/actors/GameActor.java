@@ -1,8 +1,12 @@
 package actors;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,6 +14,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import akka.actor.AbstractActor;
 import akka.actor.ActorRef;
+import akka.actor.Props;
 import events.CardClicked;
 import events.EndTurnClicked;
 import events.EventProcessor;
@@ -22,7 +27,7 @@ import events.UnitStopped;
 import play.libs.Json;
 import structures.GameState;
 import utils.ImageListForPreLoad;
-import play.libs.Json;
+import utils.SerialExecutor;
 
 /**
  * The game actor is an Akka Actor that receives events from the user front-end UI (e.g. when 
@@ -38,8 +43,14 @@ public class GameActor extends AbstractActor {
 
 	private ObjectMapper mapper = new ObjectMapper(); // Jackson Java Object Serializer, is used to turn java objects to Strings
 	private ActorRef out; // The ActorRef can be used to send messages to the front-end UI
+	private ActorRef outbound; // Flow controlled queue in front of out, game logic sends its commands through this
 	private Map<String,EventProcessor> eventProcessors; // Classes used to process each type of event
 	private GameState gameState; // A class that can be used to hold game state information
+	private SerialExecutor gameLogicExecutor; // Runs the event processors of this session one at a time on the game logic dispatcher
+	private final AtomicBoolean heartbeatQueued = new AtomicBoolean(); // A heartbeat is waiting for the game logic executor
+	
+	public static final String gameLogicDispatcher = "game-logic-dispatcher"; // Dispatcher shared by the game logic of all sessions
+	private static final int maxQueuedEvents = 64; // Events a session can have waiting before it is closed
 
 	/**
 	 * Constructor for the GameActor. This is called by the GameController when the websocket
@@ -50,6 +61,16 @@ public class GameActor extends AbstractActor {
 	public GameActor(ActorRef out) {
 
 		this.out = out; // save this, so we can send commands to the front-end later
+		this.outbound = getContext().actorOf(Props.create(OutboundFlowController.class, out), "outbound");
+
+		// Game logic of this session, run one event at a time on a dispatcher shared by all sessions so no session owns
+		// a thread. The game logic dispatcher (if configured) keeps it off the dispatcher the actors run on. Control
+		// events (clicks, unit moves, end turn) are queued up to maxQueuedEvents, a session with more waiting is no
+		// longer keeping up and is closed. Heartbeats are coalesced, see processMessage
+		Executor dispatcher = getContext().getSystem().dispatchers().hasDispatcher(gameLogicDispatcher) ?
+				getContext().getSystem().dispatchers().lookup(gameLogicDispatcher) : getContext().getDispatcher();
+		ActorRef self = getSelf();
+		gameLogicExecutor = new SerialExecutor(dispatcher, maxQueuedEvents, () -> self.tell(Overflow.INSTANCE, ActorRef.noSender()));
 
 		// create class instances to respond to the various events that we might recieve
 		eventProcessors = new HashMap<String,EventProcessor>();
@@ -65,13 +86,20 @@ public class GameActor extends AbstractActor {
 		// Initalize a new game state object
 		gameState = new GameState();
 		
+		// Work continued from other threads (e.g. after a unit stopped) runs on the game logic executor, straight away
+		// when it is already running this session's logic so it is done before the next event
+		gameState.setGameLogicExecutor(task -> {
+			if (gameLogicExecutor.isRunnerThread()) task.run();
+			else gameLogicExecutor.execute(task);
+		});
+		
 		// Get the list of image files to pre-load the UI with
 		Set<String> images = ImageListForPreLoad.getImageListForPreLoad();
 		
 		try {
 			ObjectNode readyMessage = Json.newObject();
 			readyMessage.put("messagetype", "actorReady");
-			readyMessage.put("preloadImages", mapper.readTree(mapper.writeValueAsString(images)));
+			readyMessage.put("preloadImages", mapper.valueToTree(images));
 			out.tell(readyMessage, out);
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -88,6 +116,10 @@ public class GameActor extends AbstractActor {
 				.match(JsonNode.class, message -> {
 					System.out.println(message);
 					processMessage(message.get("messagetype").asText(), message);
+				})
+				.match(Overflow.class, overflow -> {
+					System.err.println("GameActor: " + maxQueuedEvents + " events waiting for the game logic, closing the session");
+					getContext().stop(getSelf());
 				}).build();
 	}
 
@@ -108,21 +140,65 @@ public class GameActor extends AbstractActor {
 			System.err.println("GameActor: Recieved unknown event type "+messageType);
 		} else {
 			
+			// A heartbeat means the front-end has acted on the commands sent to it, hand the flow controller new credits
+			if (processor instanceof Heartbeat) {
+				outbound.tell(OutboundFlowController.Heartbeat.INSTANCE, getSelf());
+			}
+			
+			// Run the game logic on this session's executor so the actor is never blocked
+			try {
+				if (processor instanceof Heartbeat) {
+					// Heartbeats only redraw the stats that changed, so one waiting heartbeat covers any that arrive after it
+					if (!heartbeatQueued.compareAndSet(false, true)) return;
+					gameLogicExecutor.execute(() -> {
+						heartbeatQueued.set(false);
+						runProcessor(processor, message);
+					});
+				} else {
+					gameLogicExecutor.execute(() -> runProcessor(processor, message));
+				}
+			} catch (RejectedExecutionException e) {
+				// Queue full, the session is closed (see Overflow)
+				if (processor instanceof Heartbeat) heartbeatQueued.set(false);
+				System.err.println("GameActor: "+messageType+" event dropped, "+e.getMessage());
+			}
+		}
+	}
+	
+	// Executed by the game logic executor, events of a session are processed one at a time in the order they arrived
+	private void runProcessor(EventProcessor processor, JsonNode message) {
+		try {
 			if (gameState.userinteractionLocked()) {
 				// Dont execute CardClicked if the UI is locked as this breaks the game
 				if (processor instanceof CardClicked) {
 				}	
 				else {
-					processor.processEvent(out, gameState, message); // process the event
+					processor.processEvent(outbound, gameState, message); // process the event
 				}
 			}
 			else {
-				processor.processEvent(out, gameState, message); // process the event
+				processor.processEvent(outbound, gameState, message); // process the event
 			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
 	
+	@Override
+	public void postStop() throws Exception {
+		// Websocket closed (or the session overflowed), events still waiting are not processed
+		List<Runnable> dropped = gameLogicExecutor.shutdown();
+		if (!dropped.isEmpty()) {
+			System.err.println("GameActor: session stopped, "+dropped.size()+" events not processed");
 		}
 	}
 	
+	// Sent to itself when the game logic executor rejected an event as its queue was full
+	private static final class Overflow {
+		static final Overflow INSTANCE = new Overflow();
+		private Overflow() {}
+	}
+	
 	
 	public void reportError(String errorText) {
 		ObjectNode returnMessage = Json.newObject();
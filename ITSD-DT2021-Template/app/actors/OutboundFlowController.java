@@ -0,0 +1,118 @@
+package actors;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import commands.AnimationScheduler;
+import commands.ClientCache;
+
+/**
+ * The outbound flow controller sits between the game logic and the websocket ActorRef of the
+ * front-end UI. The websocket only buffers 16 messages before dropping new ones, so rather than
+ * sleeping the game logic thread after each command, commands are queued here and sent as long
+ * as there are credits left. Credits are only given back by the front-end: a heartbeat is fired
+ * once the UI has acted on the commands sent to it, so a slow browser gets commands as fast as it
+ * works through them and never more than its buffer holds.
+ *
+ * Definitions (cards and unit templates, see ClientCache) are recorded as held by the front-end
+ * when they are actually sent here, not when the game logic queued them.
+ *
+ * Game logic that has to let an animation play before its next commands queues a Hold (see
+ * GeneralCommandSets.waitForAnimation): the commands after it are kept back until the animations
+ * are done, so no thread sleeps while the front-end plays them.
+ *
+ * One flow controller is created per GameActor (per session), so every command for a session goes
+ * through the same queue and the order of the commands is kept.
+ *
+ */
+public class OutboundFlowController extends AbstractActor {
+
+	private static final int bufferSize = 15;				// Buffer size 16 but using 15 for robustness
+
+	private final ActorRef out; 			// The ActorRef of the websocket to the front-end UI
+	private final Queue<Object> pending; 	// Commands (and holds) waiting for a credit
+	private int credits; 					// Number of commands that can be sent without overflowing the buffer
+	private boolean held;					// Whether a hold is waiting for its animations, nothing is sent meanwhile
+
+	/** Messages understood by the flow controller (other than the commands themselves) **/
+
+	// Sent by the GameActor when the front-end fires a heartbeat
+	public static final class Heartbeat {
+		public static final Heartbeat INSTANCE = new Heartbeat();
+		private Heartbeat() {}
+	}
+
+	// Sent to itself when the animations of a hold are done
+	private static final class Resume {
+		static final Resume INSTANCE = new Resume();
+		private Resume() {}
+	}
+
+
+	public OutboundFlowController(ActorRef out) {
+		this.out = out;
+		this.pending = new ArrayDeque<Object>();
+		this.credits = bufferSize;
+	}
+
+	@Override
+	public Receive createReceive() {
+		return receiveBuilder()
+				.match(JsonNode.class, command -> {
+					pending.add(command);
+					flush();
+				})
+				.match(Heartbeat.class, heartbeat -> {
+					// The front-end has acted on everything sent to it, its buffer is empty
+					credits = bufferSize;
+					flush();
+				})
+				.match(AnimationScheduler.Hold.class, hold -> {
+					pending.add(hold);
+					flush();
+				})
+				.match(Resume.class, resume -> {
+					held = false;
+					flush();
+				}).build();
+	}
+
+	// Send as many pending commands as there are credits, the rest waits for the next heartbeat (or the end of a hold)
+	private void flush() {
+
+		while (!held && !pending.isEmpty()) {
+			if (pending.peek() instanceof AnimationScheduler.Hold) {
+				hold((AnimationScheduler.Hold) pending.poll());
+				continue;
+			}
+			if (credits == 0) return;
+
+			JsonNode command = (JsonNode) pending.poll();
+			out.tell(command, getSelf());
+			ClientCache.recordSent(getSelf(), command);
+			credits--;
+		}
+	}
+
+	// Keep the commands after the hold back until its animations are done
+	private void hold(AnimationScheduler.Hold hold) {
+		if (hold.getReady().isDone()) return;
+
+		held = true;
+		ActorRef self = getSelf();
+		hold.getReady().whenComplete((done, e) -> self.tell(Resume.INSTANCE, ActorRef.noSender()));
+	}
+
+	@Override
+	public void postStop() throws Exception {
+		// Websocket closed, definitions still waiting here never reached the front-end
+		if (!pending.isEmpty()) {
+			System.err.println("OutboundFlowController: session closed, " + pending.size() + " commands not sent");
+		}
+		ClientCache.forgetQueued(getSelf());
+	}
+}
@@ -0,0 +1,175 @@
+package commands;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import akka.actor.ActorRef;
+import structures.GameState;
+import structures.basic.EffectAnimation;
+import structures.basic.Tile;
+import structures.basic.Unit;
+import structures.basic.UnitAnimation;
+import structures.basic.UnitAnimationType;
+
+/**
+ * Keeps track of how long the front end needs to play the animations it has been sent, so game
+ * logic (e.g. the computer player's turn) can continue as soon as the front end is ready instead
+ * of sleeping for a fixed time.
+ *
+ * BasicCommands reports every animation it sends (unit animations, effects and projectiles) and
+ * the move state reports unit moves. The play time of an animation is taken from its frame count
+ * and fps, a move from the number of tiles moved and the play time of the unit's move animation
+ * (one loop per tile). The front end plays animations side by side, so a session is ready once its
+ * last finishing animation is done.
+ *
+ * Game logic that has to wait for an animation before its next commands (e.g. a death animation
+ * before the unit is deleted) holds the session's outbound commands instead of sleeping: see
+ * holdCommands() and GeneralCommandSets.waitForAnimation. Animations sent after a hold start once
+ * the hold is over.
+ *
+ * Waiting does not hold a thread: afterAnimations() returns a future that is completed by one
+ * scheduler thread shared by all sessions.
+ *
+ */
+public class AnimationScheduler {
+
+	private static final long defaultMoveTimePerTile = 400;	// ms to move a unit one tile when it has no move animation
+	private static final long latencyMargin = 250;		// ms added for the commands to reach the front end and be started
+
+	// Time (System.nanoTime) at which the animations sent to a session are done. Weak keys so closed sessions are dropped
+	private static final Map<ActorRef, Long> readyAt = Collections.synchronizedMap(new WeakHashMap<ActorRef, Long>());
+	// Time (System.nanoTime) until which the commands sent to a session are held, animations in them start after it
+	private static final Map<ActorRef, Long> heldUntil = Collections.synchronizedMap(new WeakHashMap<ActorRef, Long>());
+
+	// One daemon thread for all sessions, it only completes futures (the work that follows runs elsewhere)
+	private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "animation-scheduler");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+
+	/** Waiting **/
+
+	// Future completed once the front end has played every animation sent to it so far (straight away in a headless game)
+	public static CompletableFuture<Void> afterAnimations(GameState gameState, ActorRef out) {
+
+		long delay = gameState.isHeadless() ? 0 : remainingTime(out);
+		if (delay <= 0) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		CompletableFuture<Void> ready = new CompletableFuture<Void>();
+		scheduler.schedule(() -> { ready.complete(null); }, delay, TimeUnit.NANOSECONDS);
+		return ready;
+	}
+
+	// Hold the commands sent to out from now on until the animations sent so far are done. The returned future
+	// completes when the hold is over, the outbound flow controller sends the held commands then (see Hold)
+	public static CompletableFuture<Void> holdCommands(GameState gameState, ActorRef out) {
+
+		if (gameState.isHeadless() || out == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		Long ready = readyAt.get(out);
+		if (ready != null) {
+			heldUntil.merge(out, ready, Math::max);
+		}
+		return afterAnimations(gameState, out);
+	}
+
+	// Nanoseconds until the animations sent to out are done
+	public static long remainingTime(ActorRef out) {
+		if (out == null) return 0;
+		Long ready = readyAt.get(out);
+		if (ready == null) return 0;
+		return ready - System.nanoTime();
+	}
+
+
+	/** Queued animations **/
+
+	// An animation of the given length (ms) was sent to out, it starts now or once the commands are no longer held
+	static void animationQueued(ActorRef out, long ms) {
+		if (out == null || ms <= 0) return;
+
+		long start = Math.max(System.nanoTime(), heldUntil.getOrDefault(out, Long.MIN_VALUE));
+		long done = start + TimeUnit.MILLISECONDS.toNanos(ms + latencyMargin);
+		readyAt.merge(out, done, Math::max);
+	}
+
+	// Play time of a unit animation, 0 for the looping ones (idle, move) as they play until replaced
+	static long unitAnimationTime(Unit unit, UnitAnimationType animationType) {
+		if (unit.getAnimations() == null) return 0;
+
+		UnitAnimation animation;
+		switch (animationType) {
+		case attack: animation = unit.getAnimations().getAttack(); break;
+		case hit: animation = unit.getAnimations().getHit(); break;
+		case death: animation = unit.getAnimations().getDeath(); break;
+		case channel: animation = unit.getAnimations().getChannel(); break;
+		default: return 0;
+		}
+
+		if (animation == null || animation.isLoop() || animation.getFrameStartEndIndices() == null) return 0;
+		int[] frames = animation.getFrameStartEndIndices();
+		return frameTime(frames[1] - frames[0] + 1, animation.getFps());
+	}
+
+	// Play time of an effect (or projectile) animation
+	static long effectAnimationTime(EffectAnimation effect) {
+		if (effect == null || effect.getAnimationTextures() == null) return 0;
+		return frameTime(effect.getAnimationTextures().size(), effect.getFps());
+	}
+
+	// A unit move between two tiles was sent to out. Called by the move state as the unit's position
+	// is already updated to the target tile when BasicCommands.moveUnitToTile is called
+	public static void unitMoveQueued(ActorRef out, Unit unit, Tile from, Tile to) {
+		animationQueued(out, moveTime(unit, from, to));
+	}
+
+	// Time for a unit to move between two tiles, the front end moves along x and y (no diagonal shortcut)
+	// and plays the unit's move animation once per tile
+	static long moveTime(Unit unit, Tile from, Tile to) {
+		int distance = Math.abs(from.getTilex() - to.getTilex()) + Math.abs(from.getTiley() - to.getTiley());
+		return distance * moveTimePerTile(unit);
+	}
+
+	// Play time of one loop of the unit's move animation
+	static long moveTimePerTile(Unit unit) {
+		if (unit.getAnimations() == null) return defaultMoveTimePerTile;
+
+		UnitAnimation move = unit.getAnimations().getMove();
+		if (move == null || move.getFrameStartEndIndices() == null) return defaultMoveTimePerTile;
+		int[] frames = move.getFrameStartEndIndices();
+		long time = frameTime(frames[1] - frames[0] + 1, move.getFps());
+		return time > 0 ? time : defaultMoveTimePerTile;
+	}
+
+
+	/** Message to the outbound flow controller **/
+
+	// Commands sent to the flow controller after a Hold are kept back until ready completes
+	public static final class Hold {
+
+		private final CompletableFuture<Void> ready;
+
+		public Hold(CompletableFuture<Void> ready) {
+			this.ready = ready;
+		}
+
+		public CompletableFuture<Void> getReady() {
+			return ready;
+		}
+	}
+
+	private static long frameTime(int frames, int fps) {
+		if (frames <= 0 || fps <= 0) return 0;
+		return frames * 1000L / fps;
+	}
+}
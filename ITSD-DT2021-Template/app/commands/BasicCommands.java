@@ -1,5 +1,6 @@
 package commands;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -7,6 +8,7 @@ import akka.actor.ActorRef;
 import play.libs.Json;
 import structures.basic.Card;
 import structures.basic.EffectAnimation;
+import structures.basic.Monster;
 import structures.basic.Player;
 import structures.basic.Tile;
 import structures.basic.Unit;
@@ -17,12 +19,55 @@ import structures.basic.UnitAnimationType;
  * This is a utility class that simply provides short-cut methods for
  * running the basic command set for the game.
  * 
+ * A null out is a headless game (no front end), commands are then neither built nor sent.
+ * 
  * @author Dr. Richard McCreadie
  *
  */
 public class BasicCommands {
 
-	private static ObjectMapper mapper = new ObjectMapper(); // Jackson Java Object Serializer, is used to turn java objects to Strings
+	private static ObjectMapper mapper = new ObjectMapper(); // Jackson Java Object Serializer, is used to turn java objects to Json trees
+	
+	/**
+	 * Encodes a java object straight into a Json tree that can be embedded in an outbound message.
+	 * This is done in one pass (no intermediate String that is then parsed back into a tree).
+	 * Game objects are encoded through their views (TileView, UnitView, CardView, PlayerView), which
+	 * hold only what the front end draws, never the game objects themselves.
+	 * @param object
+	 * @return JsonNode representation of the object
+	 */
+	private static JsonNode encode(Object object) {
+		return mapper.valueToTree(object);
+	}
+	
+	/**
+	 * Encodes a unit for a command (see UnitView). A unit loaded from a config file is encoded without its
+	 * animations and correction but with its template (config file) instead. The front end gets those once
+	 * per template (defineUnitTemplate, see ClientCache) and fills them back in.
+	 * @param unit
+	 * @return JsonNode representation of the unit
+	 */
+	private static JsonNode encodeUnit(Unit unit) {
+		return encode(unit.getTemplate() == null ? UnitView.of(unit) : UnitView.ofTemplate(unit));
+	}
+	
+	// Sends the template of a unit to out if the front end does not have it yet. Must come before any command encoding the unit
+	private static void defineUnitTemplate(ActorRef out, Unit unit) {
+		if (unit.getTemplate() != null && ClientCache.markQueued(out, ClientCache.unitTemplateKey(unit))) {
+			out.tell(defineUnitTemplateMessage(unit), out);
+		}
+	}
+	
+	// Builds the message that gives the front end the animations and correction of a unit template
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode defineUnitTemplateMessage(Unit unit) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "defineUnitTemplate");
+		returnMessage.put("template", unit.getTemplate());
+		returnMessage.put("animations", encode(unit.getAnimations()));
+		returnMessage.put("correction", encode(unit.getCorrection()));
+		return returnMessage;
+	}
 	
 	/**
 	 * You can consider the contents of the user’s browser window a canvas that can be drawn upon. drawTile will draw 
@@ -35,17 +80,30 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void drawTile(ActorRef out, Tile tile, int mode) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "drawTile");
-			returnMessage.put("tile", mapper.readTree(mapper.writeValueAsString(tile)));
-			returnMessage.put("mode", mode);
-			out.tell(returnMessage, out);
+			out.tell(drawTileMessage(tile, mode), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the drawTile message without sending it, also used by CommandBatch
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode drawTileMessage(Tile tile, int mode) {
+		// Tiles are redrawn many times a turn, re-use the encoded message while the tile has not changed
+		ObjectNode returnMessage = tile.cachedDrawTileMessage(mode);
+		if (returnMessage == null) {
+			returnMessage = Json.newObject();
+			returnMessage.put("messagetype", "drawTile");
+			returnMessage.put("tile", encode(TileView.of(tile)));
+			returnMessage.put("mode", mode);
+			tile.cacheDrawTileMessage(mode, returnMessage);
+		}
+		tile.recordDisplayedMode(mode);
+		return returnMessage;
+	}
+	
 	/**
 	 * drawUnit will draw the sprite for a unit (a picture of that unit with its attack and health values) on the board. 
 	 * This command takes as input a target Tile (a ‘square’ of the main game grid) to place the unit’s sprite upon, 
@@ -56,11 +114,13 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void drawUnit(ActorRef out, Unit unit, Tile tile) {
+		if (out == null) return;
 		try {
+			defineUnitTemplate(out, unit);
 			ObjectNode returnMessage = Json.newObject();
 			returnMessage.put("messagetype", "drawUnit");
-			returnMessage.put("tile", mapper.readTree(mapper.writeValueAsString(tile)));
-			returnMessage.put("unit", mapper.readTree(mapper.writeValueAsString(unit)));
+			returnMessage.put("tile", encode(TileView.of(tile)));
+			returnMessage.put("unit", encodeUnit(unit));
 			out.tell(returnMessage, out);
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -76,17 +136,26 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void setUnitAttack(ActorRef out, Unit unit, int attack) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "setUnitAttack");
-			returnMessage.put("unit", mapper.readTree(mapper.writeValueAsString(unit)));
-			returnMessage.put("attack", attack);
-			out.tell(returnMessage, out);
+			defineUnitTemplate(out, unit);
+			out.tell(setUnitAttackMessage(unit, attack), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the setUnitAttack message without sending it, also used by CommandBatch
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode setUnitAttackMessage(Unit unit, int attack) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "setUnitAttack");
+		returnMessage.put("unit", encodeUnit(unit));
+		returnMessage.put("attack", attack);
+		if (unit instanceof Monster) ((Monster) unit).recordDisplayedAttack(attack);
+		return returnMessage;
+	}
+	
 	/**
 	 * This command changes the visualised health value just under a unit’s sprite to a value between 0 
 	 * and 20. The command takes in a unit instance. The associated values are read from the unit object.
@@ -96,17 +165,26 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void setUnitHealth(ActorRef out, Unit unit, int health) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "setUnitHealth");
-			returnMessage.put("unit", mapper.readTree(mapper.writeValueAsString(unit)));
-			returnMessage.put("health", health);
-			out.tell(returnMessage, out);
+			defineUnitTemplate(out, unit);
+			out.tell(setUnitHealthMessage(unit, health), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the setUnitHealth message without sending it, also used by CommandBatch
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode setUnitHealthMessage(Unit unit, int health) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "setUnitHealth");
+		returnMessage.put("unit", encodeUnit(unit));
+		returnMessage.put("health", health);
+		if (unit instanceof Monster) ((Monster) unit).recordDisplayedHP(health);
+		return returnMessage;
+	}
+	
 	/**
 	 * This command moves a unit sprite from one tile to another. It takes in the unit’s object and the target Tile. 
 	 * Note that this command will start the movement, it may take multiple seconds for the movement to complete.
@@ -116,11 +194,13 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void moveUnitToTile(ActorRef out, Unit unit, Tile tile) {
+		if (out == null) return;
 		try {
+			defineUnitTemplate(out, unit);
 			ObjectNode returnMessage = Json.newObject();
 			returnMessage.put("messagetype", "moveUnitToTile");
-			returnMessage.put("unit", mapper.readTree(mapper.writeValueAsString(unit)));
-			returnMessage.put("tile", mapper.readTree(mapper.writeValueAsString(tile)));
+			returnMessage.put("unit", encodeUnit(unit));
+			returnMessage.put("tile", encode(TileView.of(tile)));
 			out.tell(returnMessage, out);
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -138,12 +218,14 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void moveUnitToTile(ActorRef out, Unit unit, Tile tile, boolean yfirst) {
+		if (out == null) return;
 		try {
+			defineUnitTemplate(out, unit);
 			ObjectNode returnMessage = Json.newObject();
 			returnMessage.put("messagetype", "moveUnitToTile");
 			returnMessage.put("yfirst", yfirst);
-			returnMessage.put("unit", mapper.readTree(mapper.writeValueAsString(unit)));
-			returnMessage.put("tile", mapper.readTree(mapper.writeValueAsString(tile)));
+			returnMessage.put("unit", encodeUnit(unit));
+			returnMessage.put("tile", encode(TileView.of(tile)));
 			out.tell(returnMessage, out);
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -160,15 +242,18 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void playUnitAnimation(ActorRef out, Unit unit, UnitAnimationType animationToPlay) {
+		if (out == null) return;
 		try {
+			defineUnitTemplate(out, unit);
 			
 			unit.setAnimation(animationToPlay);
 			
 			ObjectNode returnMessage = Json.newObject();
 			returnMessage.put("messagetype", "playUnitAnimation");
-			returnMessage.put("unit", mapper.readTree(mapper.writeValueAsString(unit)));
+			returnMessage.put("unit", encodeUnit(unit));
 			returnMessage.put("animation", animationToPlay.toString());
 			out.tell(returnMessage, out);
+			AnimationScheduler.animationQueued(out, AnimationScheduler.unitAnimationTime(unit, animationToPlay));
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
@@ -182,10 +267,12 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void deleteUnit(ActorRef out, Unit unit) {
+		if (out == null) return;
 		try {
+			defineUnitTemplate(out, unit);
 			ObjectNode returnMessage = Json.newObject();
 			returnMessage.put("messagetype", "deleteUnit");
-			returnMessage.put("unit", mapper.readTree(mapper.writeValueAsString(unit)));
+			returnMessage.put("unit", encodeUnit(unit));
 			out.tell(returnMessage, out);
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -201,16 +288,24 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void setPlayer1Health(ActorRef out, Player player) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "setPlayer1Health");
-			returnMessage.put("player", mapper.readTree(mapper.writeValueAsString(player)));
-			out.tell(returnMessage, out);
+			out.tell(setPlayer1HealthMessage(player), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the setPlayer1Health message without sending it, also used by CommandBatch
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode setPlayer1HealthMessage(Player player) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "setPlayer1Health");
+		returnMessage.put("player", encode(PlayerView.of(player)));
+		player.recordDisplayedHealth(player.getHealth());
+		return returnMessage;
+	}
+	
 	/**
 	 * This command changes the visualised health value in the player’s information card to a value between 0 
 	 * and 20. The command takes in a basic player instance. The associated values are read from the basic player 
@@ -220,16 +315,24 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void setPlayer2Health(ActorRef out, Player player) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "setPlayer2Health");
-			returnMessage.put("player", mapper.readTree(mapper.writeValueAsString(player)));
-			out.tell(returnMessage, out);
+			out.tell(setPlayer2HealthMessage(player), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the setPlayer2Health message without sending it, also used by CommandBatch
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode setPlayer2HealthMessage(Player player) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "setPlayer2Health");
+		returnMessage.put("player", encode(PlayerView.of(player)));
+		player.recordDisplayedHealth(player.getHealth());
+		return returnMessage;
+	}
+	
 	/**
 	 * This command changes the visualised mana value in the player’s information card to a value between 0 
 	 * and 9. The command takes in a basic player instance. The associated values are read from the basic player 
@@ -239,16 +342,24 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void setPlayer1Mana(ActorRef out, Player player) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "setPlayer1Mana");
-			returnMessage.put("player", mapper.readTree(mapper.writeValueAsString(player)));
-			out.tell(returnMessage, out);
+			out.tell(setPlayer1ManaMessage(player), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the setPlayer1Mana message without sending it, also used by CommandBatch
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode setPlayer1ManaMessage(Player player) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "setPlayer1Mana");
+		returnMessage.put("player", encode(PlayerView.of(player)));
+		player.recordDisplayedMana(player.getMana());
+		return returnMessage;
+	}
+	
 	/**
 	 * This command changes the visualised mana value in the player’s information card to a value between 0 
 	 * and 9. The command takes in a basic player instance. The associated values are read from the basic player 
@@ -258,20 +369,30 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void setPlayer2Mana(ActorRef out, Player player) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "setPlayer2Mana");
-			returnMessage.put("player", mapper.readTree(mapper.writeValueAsString(player)));
-			out.tell(returnMessage, out);
+			out.tell(setPlayer2ManaMessage(player), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the setPlayer2Mana message without sending it, also used by CommandBatch
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode setPlayer2ManaMessage(Player player) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "setPlayer2Mana");
+		returnMessage.put("player", encode(PlayerView.of(player)));
+		player.recordDisplayedMana(player.getMana());
+		return returnMessage;
+	}
+	
 	/**
 	 * This command renders a card in the player’s hand. It takes as input a hand position (a value between 1-6), a 
 	 * Card (which is an object containing basic information needed to visualise that card) and a visualisation mode 
-	 * (similarly to a tile). This command can be issued multiple times to change the visualisation mode of a card.
+	 * (similarly to a tile). This command can be issued multiple times to change the visualisation mode for a card.
+	 * The full card is only sent the first time it is drawn in a session (see ClientCache), after that the
+	 * command only holds the card id.
 	 * @param out
 	 * @param card
 	 * @param position
@@ -279,34 +400,59 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void drawCard(ActorRef out, Card card, int position, int mode) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "drawCard");
-			returnMessage.put("card", mapper.readTree(mapper.writeValueAsString(card)));
-			returnMessage.put("position", position);
-			returnMessage.put("mode", mode);
-			out.tell(returnMessage, out);
+			if (ClientCache.markQueued(out, ClientCache.cardKey(card))) {
+				out.tell(defineCardMessage(card), out);
+			}
+			out.tell(drawCardMessage(card, position, mode), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the drawCard message without sending it, also used by CommandBatch. The card must have been defined in the front end
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode drawCardMessage(Card card, int position, int mode) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "drawCard");
+		returnMessage.put("cardId", card.getId());
+		returnMessage.put("position", position);
+		returnMessage.put("mode", mode);
+		return returnMessage;
+	}
+	
+	// Builds the message that gives the front end the full card, which later drawCard messages reference by id
+	@SuppressWarnings({"deprecation"})
+	static ObjectNode defineCardMessage(Card card) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "defineCard");
+		returnMessage.put("card", encode(CardView.of(card)));
+		return returnMessage;
+	}
+	
 	/**
 	 * This command deletes a card in the player’s hand. It takes as input a hand position (a value between 1-6).
 	 * @param out
 	 * @param position
 	 */
 	public static void deleteCard(ActorRef out, int position) {
+		if (out == null) return;
 		try {
-			ObjectNode returnMessage = Json.newObject();
-			returnMessage.put("messagetype", "deleteCard");
-			returnMessage.put("position", position);
-			out.tell(returnMessage, out);
+			out.tell(deleteCardMessage(position), out);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 	
+	// Builds the deleteCard message without sending it, also used by CommandBatch
+	static ObjectNode deleteCardMessage(int position) {
+		ObjectNode returnMessage = Json.newObject();
+		returnMessage.put("messagetype", "deleteCard");
+		returnMessage.put("position", position);
+		return returnMessage;
+	}
+	
 	/**
 	 * Plays a specified EffectAnimation (such as an explosion) centred on a particular Tile. It takes as input an 
 	 * EffectAnimation (an object with information about rendering the effect) and a target Tile.
@@ -316,12 +462,14 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void playEffectAnimation(ActorRef out, EffectAnimation effect, Tile tile) {
+		if (out == null) return;
 		try {
 			ObjectNode returnMessage = Json.newObject();
 			returnMessage.put("messagetype", "playEffectAnimation");
-			returnMessage.put("effect", mapper.readTree(mapper.writeValueAsString(effect)));
-			returnMessage.put("tile", mapper.readTree(mapper.writeValueAsString(tile)));
+			returnMessage.put("effect", encode(effect));
+			returnMessage.put("tile", encode(TileView.of(tile)));
 			out.tell(returnMessage, out);
+			AnimationScheduler.animationQueued(out, AnimationScheduler.effectAnimationTime(effect));
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
@@ -336,6 +484,7 @@ public class BasicCommands {
 	 * @param displayTimeSeconds
 	 */
 	public static void addPlayer1Notification(ActorRef out, String text, int displayTimeSeconds) {
+		if (out == null) return;
 		try {
 			ObjectNode returnMessage = Json.newObject();
 			returnMessage.put("messagetype", "addPlayer1Notification");
@@ -355,14 +504,16 @@ public class BasicCommands {
 	 */
 	@SuppressWarnings({"deprecation"})
 	public static void playProjectileAnimation(ActorRef out, EffectAnimation effect, int mode, Tile startTile, Tile targetTile) {
+		if (out == null) return;
 		try {
 			ObjectNode returnMessage = Json.newObject();
 			returnMessage.put("messagetype", "drawProjectile");
-			returnMessage.put("effect", mapper.readTree(mapper.writeValueAsString(effect)));
-			returnMessage.put("tile", mapper.readTree(mapper.writeValueAsString(startTile)));
-			returnMessage.put("targetTile", mapper.readTree(mapper.writeValueAsString(targetTile)));
-			returnMessage.put("mode", mapper.readTree(mapper.writeValueAsString(mode)));
+			returnMessage.put("effect", encode(effect));
+			returnMessage.put("tile", encode(TileView.of(startTile)));
+			returnMessage.put("targetTile", encode(TileView.of(targetTile)));
+			returnMessage.put("mode", mode);
 			out.tell(returnMessage, out);
+			AnimationScheduler.animationQueued(out, AnimationScheduler.effectAnimationTime(effect));
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
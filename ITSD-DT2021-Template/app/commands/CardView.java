@@ -0,0 +1,48 @@
+package commands;
+
+import structures.basic.BigCard;
+import structures.basic.Card;
+import structures.basic.MiniCard;
+
+/**
+ * What the front end is sent of a Card (in its defineCard command): its id, which later drawCard
+ * commands reference it by, its name and mana cost, and the mini and big card it is drawn with.
+ * The abilities, associated class and config file of the card stay on the server.
+ *
+ */
+public final class CardView {
+
+	private final int id;
+	private final String cardname;
+	private final int manacost;
+	private final MiniCard miniCard;
+	private final BigCard bigCard;
+
+	private CardView(Card card) {
+		this.id = card.getId();
+		this.cardname = card.getCardname();
+		this.manacost = card.getManacost();
+		this.miniCard = card.getMiniCard();
+		this.bigCard = card.getBigCard();
+	}
+
+	public static CardView of(Card card) {
+		return new CardView(card);
+	}
+
+	public int getId() {
+		return id;
+	}
+	public String getCardname() {
+		return cardname;
+	}
+	public int getManacost() {
+		return manacost;
+	}
+	public MiniCard getMiniCard() {
+		return miniCard;
+	}
+	public BigCard getBigCard() {
+		return bigCard;
+	}
+}
@@ -0,0 +1,94 @@
+package commands;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import akka.actor.ActorRef;
+import structures.basic.Card;
+import structures.basic.Unit;
+
+/**
+ * Keeps track of the definitions the front end of each session already holds, so a large
+ * object (a Card with its MiniCard and BigCard animation frames, or the animations and correction
+ * of a unit type) is sent once per session and later commands only reference it by id.
+ *
+ * A definition is queued once (markQueued, when the game logic builds it) and only counts as
+ * held by the front end once it has actually been sent (recordSent, called by the outbound flow
+ * controller). If the session closes with definitions still waiting, they are forgotten.
+ *
+ * The front end keeps every definition it receives for as long as the page is open. A new page
+ * opens a new websocket and so gets a new out, for which nothing has been sent yet.
+ *
+ */
+public class ClientCache {
+
+	// Keys of the definitions queued for / sent to each session. Weak keys so closed sessions are dropped
+	private static final Map<ActorRef, Set<String>> queued = Collections.synchronizedMap(new WeakHashMap<ActorRef, Set<String>>());
+	private static final Map<ActorRef, Set<String>> sent = Collections.synchronizedMap(new WeakHashMap<ActorRef, Set<String>>());
+
+
+	// Records that the definition with this key is queued for out, returns false if it was queued or sent before
+	static boolean markQueued(ActorRef out, String key) {
+		if (isSent(out, key)) return false;
+		return keys(queued, out).add(key);
+	}
+
+	// Records the definitions in a command (or a batch of commands) as sent to out
+	public static void recordSent(ActorRef out, JsonNode command) {
+		String messageType = command.path("messagetype").asText();
+		if (messageType.equals("batch")) {
+			for (JsonNode batched : command.path("commands")) {
+				recordSent(out, batched);
+			}
+			return;
+		}
+
+		String key = definitionKey(command);
+		if (key != null) {
+			keys(sent, out).add(key);
+			keys(queued, out).remove(key);
+		}
+	}
+
+	// Drops the definitions queued for out that were never sent (the session closed)
+	public static void forgetQueued(ActorRef out) {
+		queued.remove(out);
+	}
+
+	// Whether the definition with this key has been sent to out
+	public static boolean isSent(ActorRef out, String key) {
+		Set<String> keys = sent.get(out);
+		return keys != null && keys.contains(key);
+	}
+
+	private static Set<String> keys(Map<ActorRef, Set<String>> sessions, ActorRef out) {
+		return sessions.computeIfAbsent(out, session -> ConcurrentHashMap.newKeySet());
+	}
+
+
+	/** Keys **/
+
+	// Card ids are unique within a game and a card id always stands for the same card config
+	static String cardKey(Card card) {
+		return "card:" + card.getId();
+	}
+
+	// Units loaded from the same config file share their animations and correction
+	static String unitTemplateKey(Unit unit) {
+		return "unit:" + unit.getTemplate();
+	}
+
+	// Key of the definition a command carries, null for any other command
+	private static String definitionKey(JsonNode command) {
+		switch (command.path("messagetype").asText()) {
+		case "defineCard": return "card:" + command.path("card").path("id").asInt();
+		case "defineUnitTemplate": return "unit:" + command.path("template").asText();
+		default: return null;
+		}
+	}
+}
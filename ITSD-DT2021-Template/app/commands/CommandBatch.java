@@ -0,0 +1,166 @@
+package commands;
+
+import java.util.ArrayList;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import akka.actor.ActorRef;
+import play.libs.Json;
+import structures.basic.Card;
+import structures.basic.Player;
+import structures.basic.Tile;
+import structures.basic.Unit;
+
+/**
+ * Collects a number of UI commands so that a whole logical update (e.g. a board reset or
+ * redrawing the hand) can be sent to the front-end in one websocket frame instead of one
+ * frame per command. The commands are wrapped in a "batch" message and the front-end
+ * executes them in the order they were added.
+ * 
+ * Usage: new CommandBatch().drawTile(tile, 0).drawTile(otherTile, 1).send(out);
+ * A batch should not be added to after it has been sent.
+ *
+ */
+public class CommandBatch {
+
+	private final ArrayNode commands;	// Ordered list of the command messages in this batch
+	private final ArrayList<Card> cards;	// Cards drawn by this batch, defined in the front end on send if they are new to it
+	private final ArrayList<Unit> units;	// Units encoded in this batch, their templates are defined on send if new to the front end
+	
+	public CommandBatch() {
+		this.commands = Json.newArray();
+		this.cards = new ArrayList<Card>();
+		this.units = new ArrayList<Unit>();
+	}
+	
+	
+	/** Commands that can be batched (same parameters as the BasicCommands equivalents) **/
+	
+	public CommandBatch drawTile(Tile tile, int mode) {
+		try {
+			commands.add(BasicCommands.drawTileMessage(tile, mode));
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	public CommandBatch setUnitAttack(Unit unit, int attack) {
+		try {
+			commands.add(BasicCommands.setUnitAttackMessage(unit, attack));
+			units.add(unit);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	public CommandBatch setUnitHealth(Unit unit, int health) {
+		try {
+			commands.add(BasicCommands.setUnitHealthMessage(unit, health));
+			units.add(unit);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	public CommandBatch setPlayer1Health(Player player) {
+		try {
+			commands.add(BasicCommands.setPlayer1HealthMessage(player));
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	public CommandBatch setPlayer2Health(Player player) {
+		try {
+			commands.add(BasicCommands.setPlayer2HealthMessage(player));
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	public CommandBatch setPlayer1Mana(Player player) {
+		try {
+			commands.add(BasicCommands.setPlayer1ManaMessage(player));
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	public CommandBatch setPlayer2Mana(Player player) {
+		try {
+			commands.add(BasicCommands.setPlayer2ManaMessage(player));
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	public CommandBatch drawCard(Card card, int position, int mode) {
+		try {
+			commands.add(BasicCommands.drawCardMessage(card, position, mode));
+			cards.add(card);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	public CommandBatch deleteCard(int position) {
+		try {
+			commands.add(BasicCommands.deleteCardMessage(position));
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+	
+	
+	/** Sending **/
+	
+	public int size() {
+		return commands.size();
+	}
+	
+	public boolean isEmpty() {
+		return commands.size() == 0;
+	}
+	
+	// Send all commands in one frame. Nothing is sent for an empty batch (or a headless game) and a single command is sent as is
+	public void send(ActorRef out) {
+		try {
+			if (out == null || commands.size() == 0) return;
+			
+			// Cards and unit templates the front end does not hold yet are defined at the start of the batch, before they are used
+			int defined = 0;
+			for (Card card : cards) {
+				if (ClientCache.markQueued(out, ClientCache.cardKey(card))) {
+					commands.insert(defined++, BasicCommands.defineCardMessage(card));
+				}
+			}
+			for (Unit unit : units) {
+				if (unit.getTemplate() != null && ClientCache.markQueued(out, ClientCache.unitTemplateKey(unit))) {
+					commands.insert(defined++, BasicCommands.defineUnitTemplateMessage(unit));
+				}
+			}
+			
+			if (commands.size() == 1) {
+				out.tell(commands.get(0), out);
+				return;
+			}
+			
+			ObjectNode returnMessage = Json.newObject();
+			returnMessage.put("messagetype", "batch");
+			returnMessage.set("commands", commands);
+			out.tell(returnMessage, out);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -1,13 +1,17 @@
 package commands;
 
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import structures.GameState;
 import structures.basic.Avatar;
 import structures.basic.Board;
 import structures.basic.Card;
+import structures.basic.DisplayedHand;
 import structures.basic.Hand;
 import structures.basic.Monster;
+import structures.basic.Player;
 import structures.basic.Tile;
 import structures.basic.Unit;
 import structures.basic.UnitAnimationType;
@@ -18,60 +22,49 @@ import structures.basic.UnitAnimationType;
  */
 
 import akka.actor.ActorRef;
+import utils.GameLog;
 
 
 public class GeneralCommandSets {
 	
-	/** Thread sleep times to keep it consistent accross the application **/ 
-	private static final int threadSleepTime = 30; 
-	private static final int threadSleepTimeLong = 100; 
-	private static final int bufferSize = 15;					// Buffer size 16 but using 15 for robustness 			
-	
-	
-	// Draw tiles to the board while considering the buffer limit. Thread sleep before the buffer is reached to allow it to empty
+	// Draw tiles to the board, all tiles are sent in one batch. The outbound flow controller 
+	// (actors.OutboundFlowController) paces the messages to the front end so there is no need to sleep here.
+	// Tiles the front end already shows in this colour are skipped
 	public static void drawBoardTiles(ActorRef out, ArrayList<Tile> tilesToDraw, int tileColour) {
 
-		// Iterate over tiles
-		// Need to consider the maximum buffer size and do this in batches if over 16 tiles to highlight (buffer size = 16)
-		if (tilesToDraw.size() < bufferSize) {
-			for (int i = 0; i < tilesToDraw.size(); i++) {
-				BasicCommands.drawTile(out, tilesToDraw.get(i), tileColour);
-			}
-			try {Thread.sleep(threadSleepTime);} catch (InterruptedException e) {e.printStackTrace();}	
-		}
-		else { 
-
-			// Calculate how many batches you need approximately
-			int batchSize = (tilesToDraw.size()/bufferSize) + 1; 	// Integer division floors (does not include remainder) so assume + 1 always
-
-			// Iterate over batches (bNum starts at 1 as multiplying 
-			for (int bNum = 0; bNum < batchSize; bNum++) {
-
-				// If batch number is not the final batch
-				if (bNum < batchSize -1 ) {
-					for (int i = bNum*bufferSize; i < (bNum+1)*bufferSize; i++) {
-						BasicCommands.drawTile(out, tilesToDraw.get(i), tileColour);
-					}
-					try {Thread.sleep(threadSleepTime);} catch (InterruptedException e) {e.printStackTrace();}
+		// Nothing to draw in a headless game
+		if (out == null) return;
 
-				}
-				// If bNum is the final batch, only iterate up to the ArrayList length 
-				else {
-					for (int i = bNum*bufferSize; i < tilesToDraw.size(); i++) {
-						BasicCommands.drawTile(out, tilesToDraw.get(i), tileColour);
-					}
-					try {Thread.sleep(threadSleepTime);} catch (InterruptedException e) {e.printStackTrace();}
-				}
-			}
+		CommandBatch batch = new CommandBatch();
+		for (int i = 0; i < tilesToDraw.size(); i++) {
+			if (tilesToDraw.get(i).displaysMode(tileColour)) continue;
+			batch.drawTile(tilesToDraw.get(i), tileColour);
 		}
+		batch.send(out);
 	}
 
 	
-	// Verbose board reset method for code clarity
+	// Verbose board reset method for code clarity (only the tiles that are highlighted are redrawn)
 	public static void boardVisualReset(ActorRef out, GameState gameState) {
 		
 		drawBoardTiles(out, gameState.getBoard().getAllTilesList(), 0);
 	}
+	
+	
+	// Set the highlight of the whole board: tiles in the map get their mode, all other tiles mode 0.
+	// Only the tiles whose mode changes are sent, in one batch (e.g. switching between two selected units)
+	public static void setBoardHighlights(ActorRef out, GameState gameState, Map<Tile, Integer> highlights) {
+
+		if (out == null) return;
+
+		CommandBatch batch = new CommandBatch();
+		for (Tile t : gameState.getBoard().getAllTilesList()) {
+			int mode = highlights.getOrDefault(t, 0);
+			if (t.displaysMode(mode)) continue;
+			batch.drawTile(t, mode);
+		}
+		batch.send(out);
+	}
 
 	
 	// Draw a unit with stats 
@@ -79,11 +72,9 @@ public class GeneralCommandSets {
 		
 		// Draw the unit on the tiles
 		BasicCommands.drawUnit(out, unit, onTile);
-		GeneralCommandSets.threadSleep(); 
 		
 		// Set animation to idle
 		BasicCommands.playUnitAnimation(out, unit, UnitAnimationType.idle);
-		GeneralCommandSets.threadSleep(); 
 		
 		// If unit is a monster or avatar
 		if (unit.getClass() == Monster.class || unit.getClass() == Avatar.class) {
@@ -93,53 +84,79 @@ public class GeneralCommandSets {
 			
 			// Set Unit statistics
 			BasicCommands.setUnitHealth(out, mUnit, mUnit.getHP());
-			GeneralCommandSets.threadSleep(); 
 			BasicCommands.setUnitAttack(out, mUnit, mUnit.getAttackValue());
-			GeneralCommandSets.threadSleep(); 
 		}
 	}
 	
 	
 	// Redraw all Unit stats general command
 	public static void redrawAllUnitStats(ActorRef out, GameState gameState) {
+
+		if (out == null) return;
+		
+		GameLog.info("In redrawAllUnitStats"); 
 		
-		System.out.println("In redrawAllUnitStats"); 
+		CommandBatch batch = new CommandBatch();
 		
 		// Loop over all friendly and enemy tiles and update
 		for (Tile t : gameState.getBoard().friendlyTile(gameState.getPlayerOne())) {
 			
 			// Redraw stats
-			BasicCommands.setUnitAttack(out, t.getUnitOnTile(), t.getUnitOnTile().getAttackValue());
-			threadSleep();
-			BasicCommands.setUnitHealth(out, t.getUnitOnTile(), t.getUnitOnTile().getHP());
-			threadSleep();
+			batch.setUnitAttack(t.getUnitOnTile(), t.getUnitOnTile().getAttackValue());
+			batch.setUnitHealth(t.getUnitOnTile(), t.getUnitOnTile().getHP());
 		}
 		
 		// Loop over enemies
 		for (Tile t : gameState.getBoard().enemyTile(gameState.getPlayerOne())) {
 			
 			// Redraw stats
-			BasicCommands.setUnitAttack(out, t.getUnitOnTile(), t.getUnitOnTile().getAttackValue());
-			threadSleep();
-			BasicCommands.setUnitHealth(out, t.getUnitOnTile(), t.getUnitOnTile().getHP());
-			threadSleep();
+			batch.setUnitAttack(t.getUnitOnTile(), t.getUnitOnTile().getAttackValue());
+			batch.setUnitHealth(t.getUnitOnTile(), t.getUnitOnTile().getHP());
 		}
 		
 		// Avatars
-		BasicCommands.setUnitAttack(out, gameState.getHumanAvatar(), gameState.getHumanAvatar().getAttackValue());
-		threadSleep();
-		BasicCommands.setUnitHealth(out, gameState.getHumanAvatar(), gameState.getHumanAvatar().getHP());
-		threadSleep();
-
-		BasicCommands.setUnitAttack(out, gameState.getComputerAvatar(), gameState.getComputerAvatar().getAttackValue());
-		threadSleep();
-		BasicCommands.setUnitHealth(out, gameState.getComputerAvatar(), gameState.getComputerAvatar().getHP());
-		threadSleep();
+		batch.setUnitAttack(gameState.getHumanAvatar(), gameState.getHumanAvatar().getAttackValue());
+		batch.setUnitHealth(gameState.getHumanAvatar(), gameState.getHumanAvatar().getHP());
+
+		batch.setUnitAttack(gameState.getComputerAvatar(), gameState.getComputerAvatar().getAttackValue());
+		batch.setUnitHealth(gameState.getComputerAvatar(), gameState.getComputerAvatar().getHP());
+		
+		batch.send(out);
+	}
+	
+	
+	// Redraw only the Unit stats that changed since they were last sent to the UI
+	public static void redrawChangedUnitStats(ActorRef out, GameState gameState) {
+
+		if (out == null) return;
+		
+		CommandBatch batch = new CommandBatch();
+		
+		// Loop over all units on the board (avatars included)
+		for (Player p : new Player[] {gameState.getPlayerOne(), gameState.getPlayerTwo()}) {
+			for (Tile t : gameState.getBoard().occupiedTilesView(p)) {
+				
+				// The unit may have been removed since the tile was indexed
+				Monster m = t.getUnitOnTile();
+				if (m == null) continue;
+				
+				if (m.attackChanged()) {
+					batch.setUnitAttack(m, m.getAttackValue());
+				}
+				if (m.hpChanged()) {
+					batch.setUnitHealth(m, m.getHP());
+				}
+			}
+		}
+		
+		batch.send(out);
 	}
 	
 	
 	// Reset tiles covering a given unit's range
 	public static void drawUnitDeselect(ActorRef out, GameState gameState, Unit unit) {
+
+		if (out == null) return;
 		if(unit.getClass() == Monster.class || unit.getClass() == Avatar.class) {
 			
 			// Cast for Monster methods/values
@@ -161,53 +178,91 @@ public class GeneralCommandSets {
 	
 	// Update player stats
 	public static void updatePlayerStats(ActorRef out, GameState gameState) {
+
+		if (out == null) return;
+		
+		CommandBatch batch = new CommandBatch();
 		
 		// Set player 1 stats in UI
-		BasicCommands.setPlayer1Health(out, gameState.getPlayerOne());
-		GeneralCommandSets.threadSleep(); 
-		BasicCommands.setPlayer1Mana(out, gameState.getPlayerOne());
-		GeneralCommandSets.threadSleep(); 
+		batch.setPlayer1Health(gameState.getPlayerOne());
+		batch.setPlayer1Mana(gameState.getPlayerOne());
 
 		
 		// Set player 2 stats in UI
-		BasicCommands.setPlayer2Health(out, gameState.getPlayerTwo());
-		GeneralCommandSets.threadSleep(); 
-		BasicCommands.setPlayer2Mana(out, gameState.getPlayerTwo());
-		GeneralCommandSets.threadSleep(); 
+		batch.setPlayer2Health(gameState.getPlayerTwo());
+		batch.setPlayer2Mana(gameState.getPlayerTwo());
+		
+		batch.send(out);
 	}
 	
 	
-	// Show entire Hand 
-	public static void drawCardsInHand(ActorRef out, GameState gameState, int oldHandSize, ArrayList<Card> cardsInHand) {
+	// Update only the player stats that changed since they were last sent to the UI
+	public static void updateChangedPlayerStats(ActorRef out, GameState gameState) {
 
-		// Delete/hide all cards in the UI
-		for (int i = 0; i < oldHandSize; i++) {
-			BasicCommands.deleteCard(out, i);
-			GeneralCommandSets.threadSleep(); 
-		}
-		 
-		// Show all the cards in the UI in new positions 
-		int i = 0;	
-		for(Card c : cardsInHand) { // get list of cards from Hand from Player
-			BasicCommands.drawCard(out, c, i, 0);
-			i++;
-			GeneralCommandSets.threadSleep(); 
-		}
+		if (out == null) return;
+		
+		Player p1 = gameState.getPlayerOne(); 
+		Player p2 = gameState.getPlayerTwo(); 
+		
+		CommandBatch batch = new CommandBatch();
+		
+		if (p1.healthChanged())	batch.setPlayer1Health(p1);
+		if (p1.manaChanged())	batch.setPlayer1Mana(p1);
+		if (p2.healthChanged())	batch.setPlayer2Health(p2);
+		if (p2.manaChanged())	batch.setPlayer2Mana(p2);
+		
+		batch.send(out);
 	}
 	
 	
-	// General thread commands
-	public static void threadSleep() {
-		try {Thread.sleep(threadSleepTime);} catch (InterruptedException e) {e.printStackTrace();}
+	// Show entire Hand (all cards in mode 0). Only the hand positions that differ from what the UI shows
+	// (see GameState.getDisplayedHand) are sent: e.g. playing a card redraws the positions after it and deletes the last one
+	public static void drawCardsInHand(ActorRef out, GameState gameState, ArrayList<Card> cardsInHand) {
+
+		if (out == null) return;
+
+		DisplayedHand displayed = gameState.getDisplayedHand();
+		CommandBatch batch = new CommandBatch();
+		
+		for (int i = 0; i < DisplayedHand.positions; i++) {
+			Card c = (i < cardsInHand.size()) ? cardsInHand.get(i) : null;
+			if (displayed.shows(i, c, 0)) continue;
+			
+			// Drawing a card replaces the one shown in that position, empty positions are deleted
+			if (c != null) {
+				batch.drawCard(c, i, 0);
+				displayed.recordDrawn(i, c, 0);
+			}
+			else {
+				batch.deleteCard(i);
+				displayed.recordDeleted(i);
+			}
+		}
+		
+		batch.send(out);
 	}
 	
-	public static void threadSleepLong() {
-		try {Thread.sleep(threadSleepTimeLong);} catch (InterruptedException e) {e.printStackTrace();}
+	
+	// Draw a single card of the hand in the given mode (e.g. 1 to highlight the selected card)
+	public static void drawCardInHand(ActorRef out, GameState gameState, Card card, int position, int mode) {
+
+		if (out == null) return;
+		
+		BasicCommands.drawCard(out, card, position, mode);
+		gameState.getDisplayedHand().recordDrawn(position, card, mode);
 	}
 	
-	public static void threadSleepOverride(int ms) {
-		try {Thread.sleep(ms);} catch (InterruptedException e) {e.printStackTrace();}
+	
+	// Give the front end time to play the animations sent so far before it gets the next commands. The game logic
+	// thread does not wait: the commands sent after this are held by the outbound flow controller until the
+	// animations are done (see AnimationScheduler.holdCommands). A headless game has no front end so does not wait
+	public static void waitForAnimation(ActorRef out, GameState gameState) {
+		if (out == null || gameState.isHeadless()) return;
 
+		CompletableFuture<Void> ready = AnimationScheduler.holdCommands(gameState, out);
+		if (!ready.isDone()) {
+			out.tell(new AnimationScheduler.Hold(ready), out);
+		}
 	}
 	
 	
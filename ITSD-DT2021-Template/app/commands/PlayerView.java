@@ -0,0 +1,30 @@
+package commands;
+
+import structures.basic.Player;
+
+/**
+ * What the front end is sent of a Player: the health and mana shown on its information card.
+ * The hand and deck stay on the server, cards are sent one at a time by drawCard.
+ *
+ */
+public final class PlayerView {
+
+	private final int health;
+	private final int mana;
+
+	private PlayerView(Player player) {
+		this.health = player.getHealth();
+		this.mana = player.getMana();
+	}
+
+	public static PlayerView of(Player player) {
+		return new PlayerView(player);
+	}
+
+	public int getHealth() {
+		return health;
+	}
+	public int getMana() {
+		return mana;
+	}
+}
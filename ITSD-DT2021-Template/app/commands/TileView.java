@@ -0,0 +1,58 @@
+package commands;
+
+import java.util.List;
+
+import structures.basic.Tile;
+
+/**
+ * What the front end is sent of a Tile: its textures, pixel geometry and grid position.
+ * The game state held by the tile (the unit on it, whether it is free, its AI score) stays
+ * on the server, so the encoded tile does not change as units come and go.
+ *
+ */
+public final class TileView {
+
+	private final List<String> tileTextures;
+	private final int xpos;
+	private final int ypos;
+	private final int width;
+	private final int height;
+	private final int tilex;
+	private final int tiley;
+
+	private TileView(Tile tile) {
+		this.tileTextures = tile.getTileTextures();
+		this.xpos = tile.getXpos();
+		this.ypos = tile.getYpos();
+		this.width = tile.getWidth();
+		this.height = tile.getHeight();
+		this.tilex = tile.getTilex();
+		this.tiley = tile.getTiley();
+	}
+
+	public static TileView of(Tile tile) {
+		return new TileView(tile);
+	}
+
+	public List<String> getTileTextures() {
+		return tileTextures;
+	}
+	public int getXpos() {
+		return xpos;
+	}
+	public int getYpos() {
+		return ypos;
+	}
+	public int getWidth() {
+		return width;
+	}
+	public int getHeight() {
+		return height;
+	}
+	public int getTilex() {
+		return tilex;
+	}
+	public int getTiley() {
+		return tiley;
+	}
+}
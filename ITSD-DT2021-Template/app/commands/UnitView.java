@@ -0,0 +1,68 @@
+package commands;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import structures.basic.ImageCorrection;
+import structures.basic.Position;
+import structures.basic.Unit;
+import structures.basic.UnitAnimationSet;
+import structures.basic.UnitAnimationType;
+
+/**
+ * What the front end is sent of a Unit: its id, current animation and position, and how to draw it.
+ * A unit loaded from a config file is sent with its template (config file) in place of its animations
+ * and correction, which the front end gets once per template (see BasicCommands.defineUnitTemplate).
+ * Stats, owner, abilities and the other game state of a Monster stay on the server, health and
+ * attack are sent in their own commands.
+ *
+ */
+public final class UnitView {
+
+	private final int id;
+	private final String template;
+	private final UnitAnimationType animation;
+	private final Position position;
+	private final UnitAnimationSet animations;
+	private final ImageCorrection correction;
+
+	private UnitView(Unit unit, boolean withAppearance) {
+		this.id = unit.getId();
+		this.template = withAppearance ? null : unit.getTemplate();
+		this.animation = unit.getAnimation();
+		this.position = unit.getPosition();
+		this.animations = withAppearance ? unit.getAnimations() : null;
+		this.correction = withAppearance ? unit.getCorrection() : null;
+	}
+
+	// Unit with its animations and correction
+	public static UnitView of(Unit unit) {
+		return new UnitView(unit, true);
+	}
+
+	// Unit that references its template instead, for units loaded from a config file
+	public static UnitView ofTemplate(Unit unit) {
+		return new UnitView(unit, false);
+	}
+
+	public int getId() {
+		return id;
+	}
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public String getTemplate() {
+		return template;
+	}
+	public UnitAnimationType getAnimation() {
+		return animation;
+	}
+	public Position getPosition() {
+		return position;
+	}
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public UnitAnimationSet getAnimations() {
+		return animations;
+	}
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public ImageCorrection getCorrection() {
+		return correction;
+	}
+}
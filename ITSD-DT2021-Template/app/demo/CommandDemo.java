@@ -163,7 +163,6 @@ public class CommandDemo {
 		// Set up friendly Unit to summon next to
 		Avatar humanAvatar = g.getHumanAvatar();
 		BasicCommands.drawUnit(out, humanAvatar, g.getBoard().getTile(1, 2));
-		GeneralCommandSets.threadSleep();
 		
 		// loadCard
 		Card enemyfire_spitter = BasicObjectBuilders.loadCard(StaticConfFiles.c_fire_spitter, StaticConfFiles.u_fire_spitter, 102, Card.class);
@@ -177,20 +176,17 @@ public class CommandDemo {
 		// drawUnit
 		BasicCommands.addPlayer1Notification(out, "drawUnit", 2);
 		Monster ENEMY_fire_spitter = BasicObjectBuilders.loadMonsterUnit(enemyfire_spitter.getConfigFile(), enemyfire_spitter, (Player) g.getPlayerTwo(), Monster.class);
-		GeneralCommandSets.threadSleep();
 		
 		ENEMY_fire_spitter.setPositionByTile(gameBoard.getTile(3,4));
 		ENEMY_fire_spitter.setOwner(g.getPlayerTwo());
 		ENEMY_fire_spitter.setHP(1);
 		g.getBoard().getTile(3,4).addUnit(ENEMY_fire_spitter);
 		BasicCommands.drawUnit(out, ENEMY_fire_spitter, gameBoard.getTile(3,4));
-		GeneralCommandSets.threadSleep();
 
 		
 		// drawUnit
 		BasicCommands.addPlayer1Notification(out, "drawUnit", 2);
 		Monster ffire_spitter = (Monster) BasicObjectBuilders.loadMonsterUnit(friendfire_spitter.getConfigFile(), friendfire_spitter, (Player) g.getPlayerOne(), Monster.class);
-		GeneralCommandSets.threadSleep();
 
 
 		ffire_spitter.setPositionByTile(gameBoard.getTile(3,2));
@@ -200,7 +196,6 @@ public class CommandDemo {
 		ffire_spitter.setCooldown(false);
 		g.getBoard().getTile(3,2).addUnit(ffire_spitter);
 		BasicCommands.drawUnit(out, ffire_spitter, gameBoard.getTile(3,2));
-		GeneralCommandSets.threadSleep();
 
 		
 		// loadCard
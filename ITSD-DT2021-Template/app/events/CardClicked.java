@@ -46,7 +46,7 @@ public class CardClicked implements EventProcessor{
 		/**===========================**/
 
 		// Reset entity selection, cards in hand and board
-		GeneralCommandSets.drawCardsInHand(out, gameState, gameState.getTurnOwner().getHand().getCurr(), gameState.getTurnOwner().getHand().getHandList());
+		GeneralCommandSets.drawCardsInHand(out, gameState, gameState.getTurnOwner().getHand().getHandList());
 		GeneralCommandSets.boardVisualReset(out, gameState);
 		gameState.deselectAllEntities();
 
@@ -64,7 +64,7 @@ public class CardClicked implements EventProcessor{
 		//tells the game state that a card in hand is to be played
 		gameState.getTurnOwner().getHand().setSelectedCard(gameState.getTurnOwner().getHand().getCardFromHand(handPosition));
 		gameState.getTurnOwner().getHand().setSelCarPos(handPosition);
-		BasicCommands.drawCard(out, gameState.getTurnOwner().getHand().getSelectedCard(), gameState.getTurnOwner().getHand().getSelCarPos(), 1);
+		GeneralCommandSets.drawCardInHand(out, gameState, gameState.getTurnOwner().getHand().getSelectedCard(), gameState.getTurnOwner().getHand().getSelCarPos(), 1);
 
 
 		// Check if the card has an ability that affects before summoning
@@ -3,11 +3,16 @@ package events;
 
 
 import akka.actor.ActorRef;
+import commands.AnimationScheduler;
 import commands.BasicCommands;
-import commands.GeneralCommandSets;
 
 import java.util.ArrayList;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import structures.GameState;
 import events.gameplaystates.unitplaystates.AIUnitStateController;
@@ -16,6 +21,8 @@ import structures.basic.ComputerPlayer;
 import structures.basic.Player;
 import structures.basic.Spell;
 import structures.basic.Tile;
+import utils.AIExecutor;
+import utils.GameLog;
 
 /**
  * 
@@ -28,20 +35,34 @@ import structures.basic.Tile;
 public class ComputerPlayerTurn {
 
 	// Attribute
-	Thread AIthread = new Thread(); 
+	RunComputerTurnOnThread AIturn;
+	GameState g;
 
 	
 	// Constructor
 	public ComputerPlayerTurn(ActorRef out, GameState g) {
 
-		this.AIthread = new Thread(new RunComputerTurnOnThread(out, g)); 
+		this.g = g;
+		this.AIturn = new RunComputerTurnOnThread(out, g);
 	}
 
 	
 	public void processComputerActions() {
 	
-		/** Run AI on thread to allow for waiting for executions to finish **/
-		AIthread.start();
+		/** Headless game: nothing to wait for, the whole AI turn is played before returning **/
+		if (g.isHeadless()) {
+			AIturn.run();
+			return;
+		}
+		
+		/** Run AI on the shared AI pool, it returns once the cards are played. The rest of the turn is scheduled after the animations **/
+		try {
+			AIExecutor.execute(AIturn);
+		} catch (RejectedExecutionException e) {
+			// Server too busy to play the turn, hand the turn back rather than leaving the game stuck
+			System.err.println(e.getMessage());
+			AIturn.endTurn();
+		}
 	}
 
 
@@ -52,6 +73,8 @@ public class ComputerPlayerTurn {
 		// Attributes
 		GameState g; 
 		ActorRef out;
+		
+		private static final int actionTimeout = 30;	// Seconds to wait for the front end to finish an action
 
 		// Constructor 
 		public RunComputerTurnOnThread(ActorRef out, GameState gameState) {
@@ -59,114 +82,153 @@ public class ComputerPlayerTurn {
 			this.out = out;
 		}
 
-		// Thread run
+		// Pool task run. The task plays the cards and returns, the rest of the turn continues once the front end has played them.
+		// The last step completes on the animation scheduler or an AI thread, the turn is ended on the session's game logic thread
 		public void run() {
 
-			ReentrantLock counterLock = new ReentrantLock();
-			counterLock.lock();
-			
 			ComputerPlayer pl2 = (ComputerPlayer) g.getPlayerTwo();
-			ComputerPlayer compPlayer = pl2;
+			performActions(pl2).whenCompleteAsync((done, e) -> {
+				if (e != null) e.printStackTrace();
+				endTurn();
+			}, g.getGameLogicExecutor());
+		}
+
+		// End the computer player's turn (on the game logic thread, like the events that change the turn)
+		public void endTurn() {
+			g.computerEnd();
+			BasicCommands.addPlayer1Notification(out,g.getTurnOwner().toString() + "'s turn!", 2);
+		}
+
+		// Play the cards, attacks and moves the computer logic decides on for a computer player (does not end the turn).
+		// Each phase starts once the front end has played the animations of the phase before (see AnimationScheduler),
+		// the returned future completes when the last phase's animations are done. The decisions are made on the AI pool,
+		// the actions that change the game state run on the session's game logic executor. In a headless game every step
+		// runs on the calling thread and the future is complete on return
+		public CompletableFuture<Void> performActions(ComputerPlayer compPlayer) {
+
 			AIUnitStateController controller = new AIUnitStateController(out, g);
 			compPlayer.setHPBenchMark(10);
 
 
-			ArrayList<structures.basic.ComputerLogic.ComputerInstruction> cardsToPlay, monstersToMove, attacksToPerform;
+			ArrayList<structures.basic.ComputerLogic.ComputerInstruction> cardsToPlay;
 
 			
 			cardsToPlay = compPlayer.playCards(g.getBoard());
 
-			if (!cardsToPlay.isEmpty() && cardsToPlay != null) {
+			if (cardsToPlay == null || cardsToPlay.isEmpty()) {
+				return CompletableFuture.completedFuture(null);
+			}
 
-				for (ComputerInstruction cI : cardsToPlay) {
-					System.out.println(cI);
+			CompletableFuture<Void> cards = CompletableFuture.completedFuture(null);
+			for (ComputerInstruction cI : cardsToPlay) {
+				GameLog.info(() -> String.valueOf(cI));
 
-					if (cI.getCard() == null || cI.getTargetTile() == null) continue; 
-					else { 
-						System.out.println("get class: " + cI.getCard().getClass().getName());
-						System.out.println("get associated class: " + cI.getCard().getAssociatedClass().getName());
+				if (cI.getCard() == null || cI.getTargetTile() == null) continue; 
+				else { 
+					GameLog.info(() -> "get class: " + cI.getCard().getClass().getName());
+					GameLog.info(() -> "get associated class: " + cI.getCard().getAssociatedClass().getName());
+					cards = cards.thenCompose(previous -> onGameLogic(() -> {
 						if  (cI.getCard().getAssociatedClass() == Spell.class) controller.spellCast(cI.getCard(), cI.getTargetTile()); 
 						else { 
 							controller.summonMonster(cI.getCard(), cI.getTargetTile());
-
-							// Wait between action types
-							waitForActionsToComplete();
 						}
-					}
+						return CompletableFuture.completedFuture(null);
+					}).exceptionally(e -> {
+						e.printStackTrace();
+						return null;
+					}));
 				}
+			}
 
-				// Wait between action types
-				waitForActionsToComplete();
+			Executor steps = stepExecutor();
+			return cards.thenCompose(played -> AnimationScheduler.afterAnimations(g, out))
+					.thenComposeAsync(ready -> performAttacks(compPlayer, controller), steps)
+					.thenCompose(done -> AnimationScheduler.afterAnimations(g, out))
+					.thenComposeAsync(ready -> performMoves(compPlayer, controller), steps)
+					.thenCompose(done -> AnimationScheduler.afterAnimations(g, out));
+		}
 
-				try {Thread.sleep(15000);} catch (InterruptedException e) {e.printStackTrace();}
+		// Attacks are performed one after the other, each once the one before (and the move before it, if any) completed
+		private CompletableFuture<Void> performAttacks(ComputerPlayer compPlayer, AIUnitStateController controller) {
 
-				
-				attacksToPerform = compPlayer.performAttacks(g.getBoard());
+			ArrayList<ComputerInstruction> attacksToPerform = compPlayer.performAttacks(g.getBoard());
+			CompletableFuture<Void> attacks = CompletableFuture.completedFuture(null);
 
-				if (attacksToPerform != null && !attacksToPerform.isEmpty()) {
-					System.out.println("Attacks: ");
-					for (ComputerInstruction cI : attacksToPerform) {
-						System.out.println(cI);
-						if (cI.getActor() == null || cI.getTargetTile() == null) continue;
+			if (attacksToPerform != null && !attacksToPerform.isEmpty()) {
+				GameLog.info("Attacks: ");
+				Executor steps = stepExecutor();
+				for (ComputerInstruction cI : attacksToPerform) {
+					GameLog.info(() -> String.valueOf(cI));
+					if (cI.getActor() == null || cI.getTargetTile() == null) continue;
 
+					attacks = attacks.thenComposeAsync(previous -> whenActionCompletes(onGameLogic(() -> {
 						Tile currTile = g.getBoard().getTile(cI.getActor().getPosition().getTilex(), cI.getActor().getPosition().getTiley());
-						controller.unitAttack(currTile, cI.getTargetTile());
-
-						// Wait between action types
-						waitForActionsToComplete();
-					}
-				}
-
-				else {
-					System.out.println("no attacks to perform");
+						return controller.unitAttack(currTile, cI.getTargetTile());
+					})), steps);
 				}
+			}
 
+			else {
+				GameLog.info("no attacks to perform");
+			}
+			return attacks;
+		}
 
-				// Wait between action types
-				waitForActionsToComplete();
-				
-				try {Thread.sleep(15000);} catch (InterruptedException e) {e.printStackTrace();}
+		// Moves are performed one after the other, each once the front end stopped the unit moved before
+		private CompletableFuture<Void> performMoves(ComputerPlayer compPlayer, AIUnitStateController controller) {
 
-				monstersToMove = compPlayer.moveMonsters(g.getBoard());
+			ArrayList<ComputerInstruction> monstersToMove = compPlayer.moveMonsters(g.getBoard());
+			CompletableFuture<Void> moves = CompletableFuture.completedFuture(null);
 
-				//check if empty
+			//check if empty
 
-				if (!monstersToMove.isEmpty() && monstersToMove != null) {
-					for (ComputerInstruction cI : monstersToMove) {
-						
-						if (cI.getActor() == null || cI.getTargetTile() == null) continue;
+			if (monstersToMove != null && !monstersToMove.isEmpty()) {
+				Executor steps = stepExecutor();
+				for (ComputerInstruction cI : monstersToMove) {
+					
+					if (cI.getActor() == null || cI.getTargetTile() == null) continue;
 
+					moves = moves.thenComposeAsync(previous -> whenActionCompletes(onGameLogic(() -> {
 						Tile currTile = cI.getActor().getPosition().getTile(g.getBoard());
-						controller.unitMove(currTile, cI.getTargetTile());
-
-						// Wait between action types
-						waitForActionsToComplete();
-					}
+						return controller.unitMove(currTile, cI.getTargetTile());
+					})), steps);
 				}
-				else System.out.println("no moves to make");
-
-				// Wait between action types
-				waitForActionsToComplete();
-				
-				try {Thread.sleep(15000);} catch (InterruptedException e) {e.printStackTrace();}
-
 			}
-			
-			// End turn
-			g.computerEnd();
-			BasicCommands.addPlayer1Notification(out,g.getTurnOwner().toString() + "'s turn!", 2);
+			else GameLog.info("no moves to make");
 
-			counterLock.unlock();
+			return moves;
 		}
 
 		/** Helper methods **/
-		public void waitForActionsToComplete() {
+		// Runs an action that changes the game state on the session's game logic executor, so it never overlaps with
+		// the processing of the session's events. Completes when the future the action returned does
+		private CompletableFuture<Void> onGameLogic(Supplier<CompletableFuture<Void>> action) {
+			return CompletableFuture.supplyAsync(action, g.getGameLogicExecutor()).thenCompose(started -> started);
+		}
 
-			// Wait between action types
-			while (g.getUnitMovingFlag() || g.userinteractionLocked()) {
-				GeneralCommandSets.threadSleepLong();
-			}
+		// Completes when the action's future does and the user interface is unlocked again (no polling), as the
+		// old polling wait did. Summons and spells complete before returning, moves complete on UnitStopped and
+		// the front end holds the lock while it moves a unit (UnitMoving / UnitStopped). A headless game has no
+		// front end releasing locks, so only the action is waited for. A front end that never reports back must
+		// not hang the AI, the turn continues after actionTimeout
+		public CompletableFuture<Void> whenActionCompletes(CompletableFuture<Void> action) {
+			CompletableFuture<Void> done = g.isHeadless() ? action.copy() : action.thenCompose(moved -> g.whenUnlocked());
+			// Time out a dependent future, the action and the unlock future are shared with the game state
+			return done.orTimeout(actionTimeout, TimeUnit.SECONDS).handle((result, e) -> {
+				if (e instanceof TimeoutException) {
+					System.err.println("ComputerPlayerTurn: action not completed after " + actionTimeout + "s, continuing");
+				} else if (e != null) {
+					e.printStackTrace();
+				}
+				return null;
+			});
 		}
 
+		// Executor the AI steps continue on. Steps must not run on the thread that completed the wait (the animation
+		// scheduler or the game logic thread) so they go back to the AI pool, a headless game runs them on the calling thread
+		private Executor stepExecutor() {
+			if (g.isHeadless()) return Runnable::run;
+			return AIExecutor.executor();
+		}
 	}
 }
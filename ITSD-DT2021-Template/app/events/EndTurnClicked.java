@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import akka.actor.ActorRef;
 import structures.GameState;
 import commands.*;
+import utils.GameLog;
 /**
  * Indicates that the user has clicked an object on the game canvas, in this case
  * the end-turn button.
@@ -42,14 +43,13 @@ public class EndTurnClicked implements EventProcessor{
 			compTurn.processComputerActions();
 			
 			if(gameState.getTurnOwner().getDeck().getCardList().isEmpty() && gameState.getTurnOwner() == gameState.getPlayerTwo()) {
-				System.out.println("Computer lose");
+				GameLog.info("Computer lose");
 				BasicCommands.addPlayer1Notification(out, "You win!", 2);
 				gameState.gameOver();
 				return;
 			}
 			
 			BasicCommands.addPlayer1Notification(out, "Your move!", 2);
-			GeneralCommandSets.threadSleep();
 
 			// Verbose output
 			BasicCommands.addPlayer1Notification(out,gameState.getTurnOwner().toString() + "'s turn!", 2);
@@ -65,9 +65,7 @@ public class EndTurnClicked implements EventProcessor{
 
 		/** End turn procedure **/
 		gameState.emptyMana(); 										// Empty mana for player who ends the turn
-		GeneralCommandSets.threadSleep();
 		GeneralCommandSets.updatePlayerStats(out, gameState);		// Update player stats
-		GeneralCommandSets.threadSleep();
 		gameState.deselectAllEntities();							// Deselect all entities
 		GeneralCommandSets.boardVisualReset(out, gameState);  		// Visual rest of the board
 
@@ -82,30 +80,21 @@ public class EndTurnClicked implements EventProcessor{
 			
 			//if it is human player getting a new card, re-display all card in hand after drawing 
 			if(gameState.getTurnOwner() == gameState.getPlayerOne()) {
-				Card card = gameState.getTurnOwner().getDeck().getCardList().get(0);
-				int oldCardSize = (gameState.getTurnOwner().getHand().getHandList().size()) -1; 									//after get new one, get current handsize -1 for old size 
-				GeneralCommandSets.drawCardsInHand(out, gameState, oldCardSize, gameState.getTurnOwner().getHand().getHandList()); 	//refresh hand ,show with one card added	
+				GeneralCommandSets.drawCardsInHand(out, gameState, gameState.getTurnOwner().getHand().getHandList()); 	//refresh hand ,show with one card added	
 			}	
 		}
 
 		gameState.setMonsterCooldown(true);						// Hard set all monsters on turn enders turn to cooldown
-		GeneralCommandSets.threadSleep();
 		gameState.turnChange(); 								// turnOwner exchanged	
-		GeneralCommandSets.threadSleep();
 		gameState.giveMana();			 						// Give turnCount mana to the player in the beginning of new turn
-		GeneralCommandSets.threadSleep();
 		GeneralCommandSets.updatePlayerStats(out, gameState);	// Update player states
-		GeneralCommandSets.threadSleep();
 		gameState.setMonsterCooldown(false);					// Set all monster cooldowns to false
 
-		GeneralCommandSets.threadSleep();
 		
 		// Debug mode
 		if (gameState.isTwoPlayerMode()) {
 			// redraw hand to humanplayer
-			int oldCardListSize = gameState.getEnemyPlayer().getHand().getHandList().size(); 
-
-			GeneralCommandSets.drawCardsInHand(out, gameState, oldCardListSize, gameState.getTurnOwner().getHand().getHandList());
+			GeneralCommandSets.drawCardsInHand(out, gameState, gameState.getTurnOwner().getHand().getHandList());
 		}
 			 
 //		// If there are cards left in deck, get a card from deck (back end)
@@ -25,9 +25,9 @@ public class Heartbeat implements EventProcessor{
 	@Override
 	public void processEvent(ActorRef out, GameState gameState, JsonNode message) {
 		
-		// Constantly update
-		GeneralCommandSets.redrawAllUnitStats(out, gameState);
-		GeneralCommandSets.updatePlayerStats(out, gameState);
+		// Constantly update, only stats that changed since they were last sent are redrawn
+		GeneralCommandSets.redrawChangedUnitStats(out, gameState);
+		GeneralCommandSets.updateChangedPlayerStats(out, gameState);
 	}
 
 }
@@ -71,14 +71,11 @@ public void processEvent(ActorRef out, GameState gameState, JsonNode message) {
 			for (int k = 0; k<board.getGameBoard()[0].length; k++) {
 				BasicCommands.drawTile(out, board.getGameBoard()[i][k], 0);
 			}
-			GeneralCommandSets.threadSleep();
 		}
-		GeneralCommandSets.threadSleep();
 		
 		// Set up avatar references
 		Avatar humanAvatar = gameState.getHumanAvatar();
 		Avatar computerAvatar = gameState.getComputerAvatar();
-		GeneralCommandSets.threadSleep();
 		
 	
 		// Setting avatars' starting position
@@ -90,17 +87,15 @@ public void processEvent(ActorRef out, GameState gameState, JsonNode message) {
 		// Drawing avatarts on the board
 		BasicCommands.drawUnit(out, humanAvatar, tOne);
 		tOne.addUnit(humanAvatar);
-		GeneralCommandSets.threadSleep();
+		gameState.registerMonsterAbilities(humanAvatar);
 		BasicCommands.setUnitAttack(out, humanAvatar, humanAvatar.getAttackValue());
 		BasicCommands.setUnitHealth(out, humanAvatar, humanAvatar.getHP());
-		GeneralCommandSets.threadSleep();
 				
 		BasicCommands.drawUnit(out, computerAvatar, tTwo);	
 		tTwo.addUnit(computerAvatar);
-		GeneralCommandSets.threadSleep();
+		gameState.registerMonsterAbilities(computerAvatar);
 		BasicCommands.setUnitAttack(out, computerAvatar, computerAvatar.getAttackValue());
 		BasicCommands.setUnitHealth(out, computerAvatar, computerAvatar.getHP());
-		GeneralCommandSets.threadSleep();		
 	}
 	
 	private static void playerCardSetUp(ActorRef out, GameState gameState, JsonNode message) {
@@ -110,21 +105,13 @@ public void processEvent(ActorRef out, GameState gameState, JsonNode message) {
 		
 		// Set player stats
 		BasicCommands.setPlayer1Health(out, gameState.getPlayerOne());
-		GeneralCommandSets.threadSleep();
 		BasicCommands.setPlayer1Mana(out, gameState.getPlayerOne());
-		GeneralCommandSets.threadSleep();
 		
 		BasicCommands.setPlayer2Health(out, gameState.getPlayerTwo());
-		GeneralCommandSets.threadSleep();	
 		BasicCommands.setPlayer2Mana(out, gameState.getPlayerTwo());
-		GeneralCommandSets.threadSleep();
 		
-		int i = 0;
 		//showing human player's hand
-		for (Card c : gameState.getTurnOwner().getHand().getHandList()) {
-			BasicCommands.drawCard(out, c, i, 0);
-			i++;
-		}
+		GeneralCommandSets.drawCardsInHand(out, gameState, gameState.getTurnOwner().getHand().getHandList());
 	}
 }
 
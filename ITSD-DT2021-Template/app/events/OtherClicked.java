@@ -43,7 +43,7 @@ public class OtherClicked implements EventProcessor{
 		gameState.deselectAllEntities();
 		GeneralCommandSets.boardVisualReset(out, gameState);
 		if(gameState.getTurnOwner() == gameState.getPlayerOne()) {
-			GeneralCommandSets.drawCardsInHand(out, gameState, gameState.getTurnOwner().getHand().getCurr(), gameState.getTurnOwner().getHand().getHandList());
+			GeneralCommandSets.drawCardsInHand(out, gameState, gameState.getTurnOwner().getHand().getHandList());
 		}
 
 		
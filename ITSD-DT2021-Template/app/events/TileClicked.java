@@ -29,6 +29,7 @@ import utils.BasicObjectBuilders;
 import utils.StaticConfFiles;
 
 import structures.basic.abilities.*;
+import utils.GameLog;
 
 /**
  * Indicates that the user has clicked an object on the game canvas, in this case a tile.
@@ -66,7 +67,7 @@ public class TileClicked implements EventProcessor{
 		int tilex = message.get("tilex").asInt();
 		int tiley = message.get("tiley").asInt();
 		
-		System.out.println("In TileClicked.");
+		GameLog.info("In TileClicked.");
 		
 		// Start the GameplayState (State Pattern for TileClicked control flow) 
 		GameplayContext gameplayContext = new GameplayContext(gameState, out);
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 import akka.actor.ActorRef;
 import structures.GameState;
+import utils.GameLog;
 
 /**
  * Indicates that a unit instance has stopped moving. 
@@ -25,14 +26,15 @@ public class UnitStopped implements EventProcessor{
 		
 		int unitid = message.get("id").asInt();
 		
+		// Complete the move of this unit (this continues UnitCombined state and the AI), unit moving is false once no unit moves.
+		// Done before unlocking so the attack of a combined action has been executed once the UI is unlocked
+		gameState.unitMoveStopped(unitid);
+		
 		// Unlock UI when unit stops moving
 		/**===========================**/
 		gameState.userinteractionUnlock();
 		/**===========================**/
-		
-		// Set unit moving to false (this signals UnitCombined state)
-		gameState.setUnitMovingFlag(false);
-		System.out.println("User moving flag set to false");
+		GameLog.info("User moving flag set to false");
 	}
 
 }
@@ -11,6 +11,7 @@ import structures.basic.Unit;
 // TEMP
 import akka.actor.ActorRef;
 import events.gameplaystates.tileplaystates.ITilePlayStates;
+import utils.GameLog;
 
 
 /*
@@ -63,7 +64,7 @@ public class GameplayContext {
 			this.setTileFlag("empty"); 
 		}
 		
-		System.out.println(this.tileFlag);
+		GameLog.info(() -> this.tileFlag);
 		
 		/*
 		 * Combination of different user inputs to substates 
@@ -74,7 +75,7 @@ public class GameplayContext {
 		 *   Unit selected 	+ 	Empty target 	-> Move unit
 		 *   Unit selected 	+ 	Unit target		-> Attack Unit (if enemy) or Move and Attack Unit (if enemy)
 		 */
-		System.out.println("In GameplayContext.");
+		GameLog.info("In GameplayContext.");
 
 		// Execute state created from previous user input (specified in TileClicked)
 		currentStates.execute(this);
@@ -169,18 +170,18 @@ public class GameplayContext {
 	public void debugPrint() {
 		
 		// TileFlag
-		System.out.println("TileFlag: " + tileFlag); 
+		GameLog.info(() -> "TileFlag: " + tileFlag); 
 		
 		// Card
 		if (loadedCard != null) {
-			System.out.println("Card info:\n" + loadedCard.getCardname() + "\nHP: " + loadedCard.getBigCard().getHealth() + "\nAttack: " + loadedCard.getBigCard().getAttack());
-			System.out.println("Card type: " + cardClasstype); 
+			GameLog.info(() -> "Card info:\n" + loadedCard.getCardname() + "\nHP: " + loadedCard.getBigCard().getHealth() + "\nAttack: " + loadedCard.getBigCard().getAttack());
+			GameLog.info(() -> "Card type: " + cardClasstype); 
 		}
 		
 		// Add unit print
 		
 		// Tile print
-		System.out.println("Tile (x,y) : (" + clickedTile.getTilex() + "," + clickedTile.getTiley() + ")");
+		GameLog.info(() -> "Tile (x,y) : (" + clickedTile.getTilex() + "," + clickedTile.getTiley() + ")");
 
 	}
 	
@@ -6,6 +6,7 @@ import events.gameplaystates.unitplaystates.SummonMonsterState;
 import structures.basic.Monster;
 import structures.basic.Spell;
 import structures.basic.Tile;
+import utils.GameLog;
 
 
 /**
@@ -31,7 +32,7 @@ public class CardPreviouslySelectedState implements ITilePlayStates {
 	public void execute(GameplayContext context) {
 	
 		// Debug section 
-		System.out.println("In CardPreviouslySelectedState.");
+		GameLog.info("In CardPreviouslySelectedState.");
 		context.debugPrint();
 		
 		/***	Set reference info for navigating state		***/		
@@ -57,7 +58,7 @@ public class CardPreviouslySelectedState implements ITilePlayStates {
 				break; 
 			}
 			else {
-				System.out.println("Can't summon Monster on occupied tile.");
+				GameLog.info("Can't summon Monster on occupied tile.");
 				break;
 			}
 		}
@@ -69,7 +70,7 @@ public class CardPreviouslySelectedState implements ITilePlayStates {
 				break; 
 			}
 			else {
-				System.out.println("Can't summon Monster on occupied tile.");
+				GameLog.info("Can't summon Monster on occupied tile.");
 				break;
 			}
 		}
@@ -79,7 +80,7 @@ public class CardPreviouslySelectedState implements ITilePlayStates {
 				break;
 			}
 			else {
-				System.out.println("Can't play Spell on empty tile.");
+				GameLog.info("Can't play Spell on empty tile.");
 				break;
 			}
 
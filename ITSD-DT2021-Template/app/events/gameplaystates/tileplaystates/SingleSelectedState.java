@@ -3,6 +3,7 @@ import events.gameplaystates.GameplayContext;
 import events.gameplaystates.unitplaystates.IUnitPlayStates;
 import events.gameplaystates.unitplaystates.UnitDisplayActionsState;
 import structures.basic.Tile;
+import utils.GameLog;
 
 /**
  * This state is for when a unit has been selected without any valid previous input such as 
@@ -25,7 +26,7 @@ public class SingleSelectedState implements ITilePlayStates{
 
 	public void execute(GameplayContext context) {
 			
-		System.out.println("In SingleSelectedState");
+		GameLog.info("In SingleSelectedState");
 		context.debugPrint();
 
 		// Set currentTile 
@@ -40,17 +41,17 @@ public class SingleSelectedState implements ITilePlayStates{
 			}
 			
 			case("enemy unit"): {
-				System.out.println("You don't own this Unit");
+				GameLog.info("You don't own this Unit");
 				break;
 			}
 			
 			case("empty"): {
-				System.out.println("Nice empty tile click buddy.");
+				GameLog.info("Nice empty tile click buddy.");
 				break; 
 			}
 			
 			case("default"):{
-				System.out.println("Hit default case in SingleSelectedState.");
+				GameLog.info("Hit default case in SingleSelectedState.");
 				break;
 			}
 			
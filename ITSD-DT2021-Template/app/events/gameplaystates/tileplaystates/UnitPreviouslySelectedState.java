@@ -11,6 +11,7 @@ import events.gameplaystates.unitplaystates.UnitCombinedActionState;
 import events.gameplaystates.unitplaystates.UnitDisplayActionsState;
 import events.gameplaystates.unitplaystates.UnitMoveActionState;
 import structures.basic.*;
+import utils.GameLog;
 
 /**
  * UnitPreviouslySelectedState:
@@ -44,7 +45,7 @@ public class UnitPreviouslySelectedState implements ITilePlayStates {
 		 * - switch selection to another friendly unit
 		 */
 		
-		System.out.println("In UnitPreviouslySelectedState.");
+		GameLog.info("In UnitPreviouslySelectedState.");
 		context.debugPrint();
 		
 		// Load previously selected unit for use in next sub state (move or attack) 
@@ -68,14 +69,14 @@ public class UnitPreviouslySelectedState implements ITilePlayStates {
 			if(Math.abs(currentTile.getTilex() - targetTile.getTilex()) <= currentTile.getUnitOnTile().getAttackRange() && (Math.abs(currentTile.getTiley() - targetTile.getTiley()) <= currentTile.getUnitOnTile().getAttackRange())) {
 				
 				// Attack
-				System.out.println("Creating AttackAction substate...");
+				GameLog.info("Creating AttackAction substate...");
 				unitState = new UnitAttackActionState(currentTile, targetTile);
 				break;
 			} 
 			else {
 				
 				// Move & Attack in a combined state as unit is out of range
-				System.out.println("Creating CombinedAction substate...");
+				GameLog.info("Creating CombinedAction substate...");
 				unitState = new UnitCombinedActionState(currentTile, targetTile);
 				break;
 			}
@@ -91,13 +92,12 @@ public class UnitPreviouslySelectedState implements ITilePlayStates {
 				
 				// Update unit's occupied tile visual
 				BasicCommands.drawTile(context.out, currentTile, 0);
-				GeneralCommandSets.threadSleep();
 				
 				// Update unit's action range tile visual
 				GeneralCommandSets.drawUnitDeselect(context.out, context.getGameStateRef(), selectedUnit);
 
 				// Update selected reference (last)
-				System.out.println("Deselected monster on Tile " + selectedUnit.getPosition().getTilex() + "," + selectedUnit.getPosition().getTiley());
+				GameLog.info(() -> "Deselected monster on Tile " + selectedUnit.getPosition().getTilex() + "," + selectedUnit.getPosition().getTiley());
 				
 				// Deselct all after an action performed (hard deselectes Units and Cards
 				context.deselectAllAfterActionPerformed();
@@ -108,13 +108,9 @@ public class UnitPreviouslySelectedState implements ITilePlayStates {
 			else {
 				
 				// Variable change for old unit
-				Monster old = (Monster) context.getLoadedUnit();
 				context.deselectAllAfterActionPerformed();
 				
-				// Visual change for old unit
-				GeneralCommandSets.drawUnitDeselect(context.out, context.getGameStateRef(), old);
-				
-				// Variable + visual change for new unit
+				// Variable + visual change for new unit, the old unit's highlight is cleared by the new unit's display
 				// Pass target tile (occupied by new unit) to DisplayActions state to complete
 				unitState = new UnitDisplayActionsState(targetTile);	
 				break;
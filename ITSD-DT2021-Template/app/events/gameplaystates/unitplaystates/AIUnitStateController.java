@@ -1,5 +1,7 @@
 package events.gameplaystates.unitplaystates;
 
+import java.util.concurrent.CompletableFuture;
+
 import events.gameplaystates.GameplayContext;
 import structures.GameState;
 import structures.basic.Card;
@@ -8,6 +10,7 @@ import structures.basic.Spell;
 import structures.basic.Tile;
 import structures.basic.abilities.*;
 import akka.actor.ActorRef;
+import utils.GameLog;
 
 
 /* 
@@ -17,8 +20,8 @@ import akka.actor.ActorRef;
 
 /**
  * Method Signatures to use: 
- * 		- unitAttack		(Tile currentTile, Tile targetTile)
- * 		- unitMove			(Tile currentTile, Tile targetTile)
+ * 		- unitAttack		(Tile currentTile, Tile targetTile)		returns a future completed once the attack (incl. any move) has finished
+ * 		- unitMove			(Tile currentTile, Tile targetTile)		returns a future completed by UnitStopped
  * 		- unitMoveAndAttack	(Tile currentTile, Tile targetTile)
  * 		- summonMonster		(Card monsterToSummon, Tile targetTile)
  * 		- spellCast			(Card spellToCast, Tile targetTile)
@@ -38,7 +41,7 @@ public class AIUnitStateController {
 	
 	/** State controlling methods **/
 	/** All unit states should handle all relevant checks and game logic **/ 
-	public void unitAttack(Tile currentTile, Tile targetTile) {
+	public CompletableFuture<Void> unitAttack(Tile currentTile, Tile targetTile) {
 
 		// Load relevant data into gameplay context for use in Unit state
 		context.setLoadedUnit(currentTile.getUnitOnTile());
@@ -73,20 +76,29 @@ public class AIUnitStateController {
 		if (unitState != null) {
 			unitState.execute(context);
 		}
+		
+		// A move and attack finishes when the front end has stopped the unit and the attack was executed
+		if (unitState instanceof UnitCombinedActionState) {
+			return ((UnitCombinedActionState) unitState).getCompletion();
+		}
+		return CompletableFuture.completedFuture(null);
 	}
 	
 	
 	// Unit Move
-	public void unitMove(Tile currentTile, Tile targetTile) {
+	public CompletableFuture<Void> unitMove(Tile currentTile, Tile targetTile) {
 		
 		// Load relevant data into gameplay context for use in Unit state
 		context.setLoadedUnit(currentTile.getUnitOnTile());
 		
 		// Create unit state object for move
-		IUnitPlayStates unitState = new UnitMoveActionState(currentTile, targetTile);
+		UnitMoveActionState unitState = new UnitMoveActionState(currentTile, targetTile);
 		
 		// Execute state
 		unitState.execute(context);
+		
+		// Completed by UnitStopped for this unit (already complete if the unit could not move)
+		return unitState.getMovement();
 	}
 	
 	
@@ -100,7 +112,7 @@ public class AIUnitStateController {
 				context.getGameStateRef().getTurnOwner().getHand().setSelCarPos(i);
 			}
 			if(i == 6 && context.getGameStateRef().getTurnOwner().getHand().getSelectedCard() == null) {	
-				System.out.println("Selected card not set in AI Controller");	
+				GameLog.info("Selected card not set in AI Controller");	
 			}
 		}
 		
@@ -134,7 +146,7 @@ public class AIUnitStateController {
 				context.getGameStateRef().getTurnOwner().getHand().setSelectedCard(spellToCast);
 				context.getGameStateRef().getTurnOwner().getHand().setSelCarPos(i);
 			}
-			if(i == 6 && context.getGameStateRef().getTurnOwner().getHand().getSelectedCard() == null) {	System.out.println("Selected card not set in AI Controller");	}
+			if(i == 6 && context.getGameStateRef().getTurnOwner().getHand().getSelectedCard() == null) {	GameLog.info("Selected card not set in AI Controller");	}
 		}
 		
 		// Load relevant data into gameplay context for use in Unit state
@@ -18,10 +18,12 @@ import structures.basic.Tile;
 import structures.basic.UnitAnimationType;
 import structures.basic.abilities.A_U_RangedAttacker;
 import structures.basic.abilities.Ability;
+import structures.basic.abilities.AbilityListener;
 import structures.basic.abilities.AbilityToUnitLinkage;
 import structures.basic.abilities.Call_IDs;
 import utils.BasicObjectBuilders;
 import utils.StaticConfFiles;
+import utils.GameLog;
 
 public class CastSpellState implements IUnitPlayStates {
 
@@ -73,13 +75,12 @@ public class CastSpellState implements IUnitPlayStates {
 			// Verbose output
 			BasicCommands.addPlayer1Notification(context.out, "Spell executing!", 2);
 			
-			System.out.println("Successfully cast spell.");
+			GameLog.info("Successfully cast spell.");
 						
 			// Play effect animation associated with ability (if present)
 			if (spellToCast.getAbility().getEffectAnimation() != null) {
 
 				BasicCommands.playEffectAnimation(context.out, spellToCast.getAbility().getEffectAnimation(), targetTile);
-				GeneralCommandSets.threadSleep();
 			}
 			
 			// Possible activations: buff if enemy spell cast, buff if Avatar takes damage etc
@@ -89,8 +90,6 @@ public class CastSpellState implements IUnitPlayStates {
 			/** Delete card from Hand + update visual **/
 			// Index variables
 			int cardIndexInHand = context.getGameStateRef().getTurnOwner().getHand().getSelCarPos(); 
-			int oldHandSize =  context.getGameStateRef().getTurnOwner().getHand().getHandList().size(); 	// How many UI cards to delete
-
 			// Remove card
 			context.getGameStateRef().getTurnOwner().getHand().removeCard(cardIndexInHand);
 			GeneralCommandSets.redrawAllUnitStats(context.out, context.getGameStateRef());
@@ -98,7 +97,7 @@ public class CastSpellState implements IUnitPlayStates {
 
 			// Only update Hand for Human player
 			if (context.getGameStateRef().getTurnOwner() instanceof HumanPlayer) {
-				GeneralCommandSets.drawCardsInHand(context.out, context.getGameStateRef(), oldHandSize, context.getGameStateRef().getTurnOwner().getHand().getHandList());
+				GeneralCommandSets.drawCardsInHand(context.out, context.getGameStateRef(), context.getGameStateRef().getTurnOwner().getHand().getHandList());
 			}
 		
 			//  Reset board visual (highlighted tiles)
@@ -120,12 +119,11 @@ public class CastSpellState implements IUnitPlayStates {
 				// Unit dies
 				else {
 					unitDeath(targetTile, context);
-					GeneralCommandSets.threadSleep();
 				}	
 			}
 		}
 		else {
-			System.out.println("Spell cast unsucessful, please select another Unit"); 
+			GameLog.info("Spell cast unsucessful, please select another Unit"); 
 		}
 		
 
@@ -162,31 +160,27 @@ public class CastSpellState implements IUnitPlayStates {
 		
 		// Get turnOwner's opposite
 		Player spellCheck = context.getGameStateRef().getEnemyPlayer();
-		ArrayList <Monster> friendlies = context.getGameStateRef().getBoard().friendlyUnitList(spellCheck);
 		
-		// Loop over friendly monsters and check if they have an ability
-		for(Monster f : friendlies) {
+		// Loop over the abilities triggered by an enemy spell (ability registry)
+		for(AbilityListener listener : context.getGameStateRef().getAbilityListeners(Call_IDs.onEnemySpellCast)) {
 			
-			if(!(f.hasAbility())) {	
+			// Only monsters of the turnOwner's opposite
+			Monster f = listener.getMonster();
+			if(f.getOwner() != spellCheck) {	
 				continue;	
 			}
-			// Loop over abilities
-			for(Ability a : f.getMonsterAbility()) {
-				if(a.getCallID() == Call_IDs.onEnemySpellCast) {
-					
-					a.execute(f,context.getGameStateRef());
-					
-					System.out.println("After casting a spell my HP is: " + f.getHP() + " and attack is " + f.getAttackValue());
-					
-					// Play animation + update stats
-					if (a.getEffectAnimation() != null) {
-						BasicCommands.playEffectAnimation(context.out, a.getEffectAnimation(), f.getPosition().getTile(context.getGameStateRef().getBoard()));
-					}
-					BasicCommands.playUnitAnimation(context.out, f, UnitAnimationType.channel);
-					GeneralCommandSets.threadSleep();
-					GeneralCommandSets.redrawAllUnitStats(context.out, context.getGameStateRef());
-				}
+			
+			Ability a = listener.getAbility();
+			a.execute(f,context.getGameStateRef());
+			
+			GameLog.info(() -> "After casting a spell my HP is: " + f.getHP() + " and attack is " + f.getAttackValue());
+			
+			// Play animation + update stats
+			if (a.getEffectAnimation() != null) {
+				BasicCommands.playEffectAnimation(context.out, a.getEffectAnimation(), f.getPosition().getTile(context.getGameStateRef().getBoard()));
 			}
+			BasicCommands.playUnitAnimation(context.out, f, UnitAnimationType.channel);
+			GeneralCommandSets.redrawAllUnitStats(context.out, context.getGameStateRef());
 		}	
 	}
 	
@@ -201,36 +195,27 @@ public class CastSpellState implements IUnitPlayStates {
 		// Check for friendly units with ability
 		else {
 			
-			// Get friendly list of monsters
-			ArrayList <Monster> friendlies = context.getGameStateRef().getBoard().friendlyUnitList(a.getOwner());
-			
-			// For each ally of Avatar a
-			for(Monster m : friendlies) {
+			// For each ability triggered by friendly Avatar damage (ability registry)
+			for(AbilityListener listener : context.getGameStateRef().getAbilityListeners(Call_IDs.onFriendlyAvatarDamageTaken)) {
 				
-				if(!(m.hasAbility())) {
+				// Only allies of Avatar a
+				Monster m = listener.getMonster();
+				if(m.getOwner() != a.getOwner()) {
 					continue; 
 				}
 				
-				// For each ability
-				for(Ability abi : m.getMonsterAbility()) {
-
-					// If ability is triggered by friendly Avatar damage
-					if(abi.getCallID() == Call_IDs.onFriendlyAvatarDamageTaken) {
-						
-						// Apply ability
-						abi.execute(m, context.getGameStateRef());
+				// Apply ability
+				Ability abi = listener.getAbility();
+				abi.execute(m, context.getGameStateRef());
 
-						System.out.println("After Avatar is damaged, my attack is: " + m.getAttackValue() + " and my health is " + m.getHP());
+				GameLog.info(() -> "After Avatar is damaged, my attack is: " + m.getAttackValue() + " and my health is " + m.getHP());
 
-						// Play animation + update stats
-						BasicCommands.playUnitAnimation(context.out, m, UnitAnimationType.channel);
-						if (abi.getEffectAnimation() != null) {
-							BasicCommands.playEffectAnimation(context.out, abi.getEffectAnimation(), m.getPosition().getTile(context.getGameStateRef().getBoard()));
-						}
-						GeneralCommandSets.threadSleep();
-						GeneralCommandSets.redrawAllUnitStats(context.out,context.getGameStateRef());
-					}
+				// Play animation + update stats
+				BasicCommands.playUnitAnimation(context.out, m, UnitAnimationType.channel);
+				if (abi.getEffectAnimation() != null) {
+					BasicCommands.playEffectAnimation(context.out, abi.getEffectAnimation(), m.getPosition().getTile(context.getGameStateRef().getBoard()));
 				}
+				GeneralCommandSets.redrawAllUnitStats(context.out,context.getGameStateRef());
 			}
 		}
 	}
@@ -261,7 +246,7 @@ public class CastSpellState implements IUnitPlayStates {
 	private void unitDeath(Tile grave, GameplayContext context) {
 		
 		BasicCommands.playUnitAnimation(context.out, targetTile.getUnitOnTile(), UnitAnimationType.death);				
-		try {Thread.sleep(1300);} catch (InterruptedException e) {e.printStackTrace();}	
+		GeneralCommandSets.waitForAnimation(context.out, context.getGameStateRef());
 		BasicCommands.deleteUnit(context.out, targetTile.getUnitOnTile());
 
 		Monster deadUnit = grave.getUnitOnTile();
@@ -278,6 +263,7 @@ public class CastSpellState implements IUnitPlayStates {
 		
 		// Update internal Tile values
 		grave.removeUnit();
+		context.getGameStateRef().unregisterMonsterAbilities(deadUnit);
 		deadUnit.setPosition(new Position(-1,-1,-1,-1));
 		
 		context.getGameStateRef().getBoard().updateUnitCount(-1);
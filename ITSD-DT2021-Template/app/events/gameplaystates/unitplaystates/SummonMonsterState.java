@@ -19,6 +19,7 @@ import structures.basic.Tile;
 import structures.basic.UnitAnimationType;
 import utils.BasicObjectBuilders;
 import utils.StaticConfFiles;
+import utils.GameLog;
 
 public class SummonMonsterState implements IUnitPlayStates {
 
@@ -43,7 +44,7 @@ public class SummonMonsterState implements IUnitPlayStates {
 	
 	public void execute(GameplayContext context) {
 		
-		System.out.println("In SummonMonsterSubState.");
+		GameLog.info("In SummonMonsterSubState.");
 		
 
 		/**===========================================**/
@@ -82,18 +83,16 @@ public class SummonMonsterState implements IUnitPlayStates {
 			
 			// Index variables
 			int cardIndexInHand = context.getGameStateRef().getTurnOwner().getHand().getSelCarPos(); 
-			int oldHandSize =  context.getGameStateRef().getTurnOwner().getHand().getHandList().size(); 	// How many UI cards to delete
-
 			// Remove card
-			System.out.println("Removing card: " + context.getGameStateRef().getTurnOwner().getHand().getCardFromHand(cardIndexInHand).getCardname());
+			GameLog.info(() -> "Removing card: " + context.getGameStateRef().getTurnOwner().getHand().getCardFromHand(cardIndexInHand).getCardname());
 			context.getGameStateRef().getTurnOwner().getHand().removeCard(cardIndexInHand);
 			for(Card c : context.getGameStateRef().getTurnOwner().getHand().getHandList()) {
-				System.out.println("id: " + c.getId() + " name " + c.getCardname());
+				GameLog.info(() -> "id: " + c.getId() + " name " + c.getCardname());
 			}
 			
 			// Only update Hand for Human player
 			if (context.getGameStateRef().getTurnOwner() instanceof HumanPlayer) {
-				GeneralCommandSets.drawCardsInHand(context.out, context.getGameStateRef(), oldHandSize, context.getGameStateRef().getTurnOwner().getHand().getHandList());
+				GeneralCommandSets.drawCardsInHand(context.out, context.getGameStateRef(), context.getGameStateRef().getTurnOwner().getHand().getHandList());
 			}
 		
 			// Reset board visual (highlighted tiles)
@@ -109,13 +108,13 @@ public class SummonMonsterState implements IUnitPlayStates {
 		// Verbose console messages for debugging, simplify for submission
 			
 			if(!tileInSummonRange()) {
-				System.out.println("Tile is not in summon range.");
+				GameLog.info("Tile is not in summon range.");
 			} else if(!(sufficientMana(context.getGameStateRef().getTurnOwner(), context.getLoadedCard()))) {
-				System.out.println("Insufficient mana to summon this monster.");
+				GameLog.info("Insufficient mana to summon this monster.");
 				BasicCommands.addPlayer1Notification(context.out, "Need more mana.", 1);
 				GeneralCommandSets.boardVisualReset(context.out, context.getGameStateRef());
 			} else {
-				System.out.println("Can't summon Monster, please try again.");
+				GameLog.info("Can't summon Monster, please try again.");
 			}
 			
 		}
@@ -137,11 +136,10 @@ public class SummonMonsterState implements IUnitPlayStates {
 		Monster summonedMonster = (Monster) BasicObjectBuilders.loadMonsterUnit(u_configFile,statsRef,context.getGameStateRef().getTurnOwner(),Monster.class);		
 		summonedMonster.setPositionByTile(context.getGameStateRef().getBoard().getTile(summonTile.getTilex(),summonTile.getTiley()));
 		summonedMonster.setOwner(context.getGameStateRef().getTurnOwner());
-		GeneralCommandSets.threadSleep(); 
 		
-		// Add unit to tile on board
+		// Add unit to tile on board and its abilities to the ability registry
 		summonTile.addUnit(summonedMonster);
-		GeneralCommandSets.threadSleep();
+		context.getGameStateRef().registerMonsterAbilities(summonedMonster);
 		
 		// Summon animation
 		EffectAnimation summonEf = BasicObjectBuilders.loadEffect(StaticConfFiles.f1_summon);
@@ -149,7 +147,6 @@ public class SummonMonsterState implements IUnitPlayStates {
 		
 		// Drawing summoned monster with stats on the board
 		GeneralCommandSets.drawUnitWithStats(out, summonedMonster, summonTile);
-		GeneralCommandSets.threadSleep();
 		
 		// Check for on-summon triggers: permanent changes to Monster statistics, abilities activated by summoning
 		checkForSummonTriggers(summonedMonster, context);
@@ -187,7 +184,7 @@ public class SummonMonsterState implements IUnitPlayStates {
 
 			for(Ability a : summonedMonster.getMonsterAbility()) {
 				if(a.getCallID() == Call_IDs.onSummon) {
-					System.out.println("Ability:" + a);
+					GameLog.info(() -> "Ability:" + a);
 
 					// Target logic
 					if (a.getTargetType() == Avatar.class) {
@@ -205,10 +202,9 @@ public class SummonMonsterState implements IUnitPlayStates {
 
 						// Execute and play animations
 						BasicCommands.playUnitAnimation(context.out, summonedMonster, UnitAnimationType.channel);
-						GeneralCommandSets.threadSleepOverride(100);
+						GeneralCommandSets.waitForAnimation(context.out, context.getGameStateRef());
 						if (a.getEffectAnimation() != null) {
 							BasicCommands.playEffectAnimation(context.out, a.getEffectAnimation(), context.getGameStateRef().getHumanAvatar().getPosition().getTile(context.getGameStateRef().getBoard()));
-							GeneralCommandSets.threadSleep();
 						}
 						BasicCommands.playUnitAnimation(context.out, summonedMonster, UnitAnimationType.idle);
 
@@ -253,7 +249,7 @@ public class SummonMonsterState implements IUnitPlayStates {
 	
 	// Returns true if Player has sufficient mana to cover the card's playing cost
 	private boolean sufficientMana(Player p, Card mon) {
-		System.out.println("Turn owner has: " + p.getMana() + " mana");
+		GameLog.info(() -> "Turn owner has: " + p.getMana() + " mana");
 		if(p.getMana() - mon.getManacost() >= 0) {	return true;	}
 		return false;
 	}
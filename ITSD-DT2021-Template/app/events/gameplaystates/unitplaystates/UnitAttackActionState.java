@@ -17,6 +17,7 @@ import structures.basic.UnitAnimationType;
 import structures.basic.abilities.*;
 import utils.BasicObjectBuilders;
 import utils.StaticConfFiles;
+import utils.GameLog;
 
 public class UnitAttackActionState implements IUnitPlayStates {
 
@@ -56,7 +57,7 @@ public class UnitAttackActionState implements IUnitPlayStates {
 		/**===========================================**/
 		
 		
-		System.out.println("In UnitAttackActionSubState.");
+		GameLog.info("In UnitAttackActionSubState.");
 
 		// Gather attacker and defender
 		attacker = (Monster) context.getLoadedUnit();
@@ -69,7 +70,7 @@ public class UnitAttackActionState implements IUnitPlayStates {
 		
 		// Check target is in attack range for attacker
 		if(!tileInRange(attacker)){
-			System.out.println("Enemy is not in attack range.");
+			GameLog.info("Enemy is not in attack range.");
 			return;
 		}
 					
@@ -113,22 +114,22 @@ public class UnitAttackActionState implements IUnitPlayStates {
 		
 		/*** Attack ***/
 		
-		System.out.println(attacker.getName() + " has " + attacker.getAttacksLeft() + " attacks left");
+		GameLog.info(() -> attacker.getName() + " has " + attacker.getAttacksLeft() + " attacks left");
 		
 		// Check if attack is successful, if so update internal values
 		if(!attacker.attack()) {
-			System.out.println("Unit cannot attack.");
+			GameLog.info("Unit cannot attack.");
 			return;
 		}
 		
 		// Verbose output
 		BasicCommands.addPlayer1Notification(context.out, "Attack!", 2);
 
-		System.out.println("Attack successful. " + attacker.getName() + " has " + attacker.getAttacksLeft() + " attacks left");
+		GameLog.info(() -> "Attack successful. " + attacker.getName() + " has " + attacker.getAttacksLeft() + " attacks left");
 
 		// Update defender
 		survived = defender.defend(attacker.getAttackValue());
-		System.out.println("Defender has " + defender.getHP() + " HP");
+		GameLog.info(() -> "Defender has " + defender.getHP() + " HP");
 
 		// Update UI
 		GeneralCommandSets.drawUnitDeselect(context.out, context.getGameStateRef(), attacker);
@@ -145,7 +146,6 @@ public class UnitAttackActionState implements IUnitPlayStates {
 		if(survived) {	
 			BasicCommands.playUnitAnimation(context.out,defender,UnitAnimationType.idle);	
 		}
-		GeneralCommandSets.threadSleep();	
 
 		
 		/***	Death check	***/
@@ -160,7 +160,6 @@ public class UnitAttackActionState implements IUnitPlayStates {
 			// Unit dies
 			else {
 				unitDeath(context, targetTile);
-				GeneralCommandSets.threadSleep();
 			}	
 		}
 
@@ -169,11 +168,11 @@ public class UnitAttackActionState implements IUnitPlayStates {
 
 			// Check for attacker destination and reachable by defender (ranged/adjacent)
 			if((checkRangedAttacker(defender) == null) && !(tileInRange(defender))) {	
-				System.out.println("Defender cannot counter attack.");
+				GameLog.info("Defender cannot counter attack.");
 				return;	
 			}
 
-			System.out.println("Counter-attack incoming...");
+			GameLog.info("Counter-attack incoming...");
 
 			// Counter attack
 			survived = attacker.defend(defender.counter());
@@ -181,10 +180,8 @@ public class UnitAttackActionState implements IUnitPlayStates {
 			/***	Switch attacker/defender highlights for user clarity	***/
 			// Initial attacker
 			BasicCommands.drawTile(context.out, currentTile, 2);
-			GeneralCommandSets.threadSleep();
 			// Initial defender
 			BasicCommands.drawTile(context.out, targetTile, 1);
-			GeneralCommandSets.threadSleep();
 			
 
 			/***	Play animations and set visuals		***/
@@ -206,7 +203,6 @@ public class UnitAttackActionState implements IUnitPlayStates {
 				// Unit dies
 				else {
 					unitDeath(context, currentTile);
-					GeneralCommandSets.threadSleep();
 				}	
 			}	
 			// Re-idle alive units
@@ -214,7 +210,6 @@ public class UnitAttackActionState implements IUnitPlayStates {
 				BasicCommands.playUnitAnimation(context.out,attacker,UnitAnimationType.idle);	
 			}
 			BasicCommands.playUnitAnimation(context.out,defender,UnitAnimationType.idle);
-			GeneralCommandSets.threadSleep();	
 		}
 	
 
@@ -251,7 +246,7 @@ public class UnitAttackActionState implements IUnitPlayStates {
 		
 		BasicCommands.playUnitAnimation(context.out, receiver, UnitAnimationType.hit);
 		BasicCommands.setUnitHealth(context.out, receiver, receiver.getHP());
-		try {Thread.sleep(1000);} catch (InterruptedException e) {e.printStackTrace();}
+		GeneralCommandSets.waitForAnimation(context.out, context.getGameStateRef());
 	}
 	
 	
@@ -262,7 +257,7 @@ public class UnitAttackActionState implements IUnitPlayStates {
 		
 		// Visuals
 		BasicCommands.playUnitAnimation(context.out, deadUnit, UnitAnimationType.death);				
-		try {Thread.sleep(1300);} catch (InterruptedException e) {e.printStackTrace();}	
+		GeneralCommandSets.waitForAnimation(context.out, context.getGameStateRef());
 		BasicCommands.deleteUnit(context.out, deadUnit);
 			
 		// Check for onDeath ability
@@ -277,6 +272,7 @@ public class UnitAttackActionState implements IUnitPlayStates {
 		
 		// Update internal location values
 		grave.removeUnit();
+		context.getGameStateRef().unregisterMonsterAbilities(deadUnit);
 		deadUnit.setPosition(new Position(-1,-1,-1,-1));	// might not need
 		
 		context.getGameStateRef().getBoard().updateUnitCount(-1);
@@ -331,30 +327,24 @@ public class UnitAttackActionState implements IUnitPlayStates {
 		// Check for friendly units with ability
 		else {
 			
-			ArrayList <Monster> friendlies = context.getGameStateRef().getBoard().friendlyUnitList(a.getOwner());
-			
-			// For each ally of Avatar a
-			for(Monster m : friendlies) {
-				if(m.hasAbility()) {
-					// For each ability
-					for(Ability abi : m.getMonsterAbility()) {
-						
-						// If ability is triggered by friendly Avatar damage
-						if(abi.getCallID() == Call_IDs.onFriendlyAvatarDamageTaken) {
-							// Change stats
-							abi.execute(m, context.getGameStateRef());
-							
-							System.out.println("After Avatar is damaged, my attack is: " + m.getAttackValue() + " and my health is " + m.getHP());
-							
-							// Play animation + update stats
-							BasicCommands.playUnitAnimation(context.out, m, UnitAnimationType.channel);
-							BasicCommands.playEffectAnimation(context.out, BasicObjectBuilders.loadEffect(StaticConfFiles.f1_buff), m.getPosition().getTile(context.getGameStateRef().getBoard()));
-							GeneralCommandSets.threadSleep();
-							GeneralCommandSets.redrawAllUnitStats(context.out, context.getGameStateRef());
-						}
-						
-					}
+			// For each ability triggered by friendly Avatar damage (ability registry)
+			for(AbilityListener listener : context.getGameStateRef().getAbilityListeners(Call_IDs.onFriendlyAvatarDamageTaken)) {
+				
+				// Only allies of Avatar a
+				Monster m = listener.getMonster();
+				if(m.getOwner() != a.getOwner()) {
+					continue;
 				}
+				
+				// Change stats
+				listener.getAbility().execute(m, context.getGameStateRef());
+				
+				GameLog.info(() -> "After Avatar is damaged, my attack is: " + m.getAttackValue() + " and my health is " + m.getHP());
+				
+				// Play animation + update stats
+				BasicCommands.playUnitAnimation(context.out, m, UnitAnimationType.channel);
+				BasicCommands.playEffectAnimation(context.out, BasicObjectBuilders.loadEffect(StaticConfFiles.f1_buff), m.getPosition().getTile(context.getGameStateRef().getBoard()));
+				GeneralCommandSets.redrawAllUnitStats(context.out, context.getGameStateRef());
 			}
 			
 		}
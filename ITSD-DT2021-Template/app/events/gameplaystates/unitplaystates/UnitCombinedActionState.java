@@ -1,11 +1,14 @@
 package events.gameplaystates.unitplaystates;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import commands.GeneralCommandSets;
 import events.gameplaystates.GameplayContext;
 import structures.basic.*;
 import structures.basic.abilities.*;
+import utils.GameLog;
 
 public class UnitCombinedActionState implements IUnitPlayStates {
 	
@@ -19,6 +22,7 @@ public class UnitCombinedActionState implements IUnitPlayStates {
 	private Tile currentTile; 
 	private Tile destination;
 	private Tile enemyTarget;
+	private CompletableFuture<Void> completion;		// Completes once both the move and the attack have been executed
 	
 	
 	/*** State constructor ***/
@@ -31,13 +35,14 @@ public class UnitCombinedActionState implements IUnitPlayStates {
 		this.currentTile = currentTile; 
 		this.destination = null;
 		this.enemyTarget = targetTile; 
+		this.completion = CompletableFuture.completedFuture(null);
 	}
 	
 	/*** State method ***/
 	
 	public void execute(GameplayContext context) {
 	
-		System.out.println("In UnitCombinedActionSubState.");
+		GameLog.info("In UnitCombinedActionSubState.");
 				
 		// Lock the user out of interfering interaction whilst state activity occurs
 		/**===========================================**/
@@ -55,8 +60,8 @@ public class UnitCombinedActionState implements IUnitPlayStates {
 					
 					// Execute Attack state
 					IUnitPlayStates UnitAttackState = new UnitAttackActionState(destination, enemyTarget);
-					System.out.println("Ranged Attacker, calling AttackAction from header of CombinedAction...");
-					System.out.println("Destination " + destination);
+					GameLog.info("Ranged Attacker, calling AttackAction from header of CombinedAction...");
+					GameLog.info(() -> "Destination " + destination);
 					UnitAttackState.execute(context);
 					break;
 				}
@@ -68,64 +73,63 @@ public class UnitCombinedActionState implements IUnitPlayStates {
 		
 		// Build state reference variables
 		if(destination == null && (enemyTarget != null)) {		
-			System.out.println("enemyTarget is tile x: " + enemyTarget.getTilex() + ", y: " + enemyTarget.getTiley());	
+			GameLog.info(() -> "enemyTarget is tile x: " + enemyTarget.getTilex() + ", y: " + enemyTarget.getTiley());	
 		}
 		
 		// Select a destination for moving consistently with method
 		unitDestinationSet(context); 
 	
-		// Executing unit states on a different thread as the time between them is reliant on UnitStopped (which runs on the same thread as the back end) 
-		// Can't ask main thread to wait since it will block front end signals and need UnitStopped message
-		Thread thread = new Thread(new ExecuteUnitStatesOnDifferentThread(context));
-		thread.start();
+		// Execute move state
+		UnitMoveActionState unitMoveState = new UnitMoveActionState(currentTile, destination);	
+		GameLog.info("Calling MoveAction from CombinedAction...");
+		GameLog.info(() -> "Destination " + destination);
+		unitMoveState.execute(context);
 		
+		// The attack can only start once the front end has finished the move (UnitStopped). Rather than waiting for it,
+		// the attack is chained on this state's own move and runs on the session's game logic thread when UnitStopped
+		// completes it, before any later click is processed (on this thread if nothing moved or in a headless game)
+		CompletableFuture<Void> movement = unitMoveState.getMovement();
+		if (movement.isDone() || context.getGameStateRef().isHeadless()) {
+			completion = movement.thenRun(() -> attackAfterMove(context));
+		} else {
+			completion = movement.thenRunAsync(() -> attackAfterMove(context), context.getGameStateRef().getGameLogicExecutor());
+		}
+		completion = completion
+				.whenComplete((result, e) -> {
+					if (e != null) e.printStackTrace();
+				});
+	}
+	
+	// Completes once the whole combined action (move and attack) has been executed
+	public CompletableFuture<Void> getCompletion() {
+		return completion;
 	}
 
 
-	public class ExecuteUnitStatesOnDifferentThread implements Runnable{
-		
-		// Class attributes
-		GameplayContext context;
+	// Second half of the combined action, executed once the unit has stopped moving
+	private void attackAfterMove(GameplayContext context) {
 
-		public ExecuteUnitStatesOnDifferentThread(GameplayContext context) {
-			this.context = context; 
-		}
+		// Execute attack state
+		GameLog.info("Calling AttackAction from CombinedAction...");
+		GameLog.info(() -> "Destination " + destination);
+		// Execute attack between units
+		IUnitPlayStates UnitAttackState = new UnitAttackActionState(destination, enemyTarget);
+		UnitAttackState.execute(context);
 		
-		public void run() {
-			
-			// Execute move state
-			IUnitPlayStates unitMoveState = new UnitMoveActionState(currentTile, destination);	
-			System.out.println("Calling MoveAction from CombinedAction...");
-			System.out.println("Destination " + destination);
-			unitMoveState.execute(context);
-			
-			// Wait for the Front end to finish (UnitStopped) before continuing
-			while (context.getGameStateRef().getUnitMovingFlag()) {
-				GeneralCommandSets.threadSleep();		
-			} 
-
-			// Execute attack state
-			System.out.println("Calling AttackAction from CombinedAction...");
-			System.out.println("Destination " + destination);
-			// Execute attack between units
-			IUnitPlayStates UnitAttackState = new UnitAttackActionState(destination, enemyTarget);
-			UnitAttackState.execute(context);
-			
-			// Finish combined State execution
-			context.setCombinedActive(false);
-			
-			/** Reset entity selection and board **/  
-			// Deselect after combined action
-			context.deselectAllAfterActionPerformed();
-			
-			// Reset board visual (highlighted tiles)
-			GeneralCommandSets.boardVisualReset(context.out, context.getGameStateRef());
-			
-			// Unlock after state activity complete
-			/**===========================================**/
-			context.getGameStateRef().userinteractionUnlock();
-			/**===========================================**/
-		}
+		// Finish combined State execution
+		context.setCombinedActive(false);
+		
+		/** Reset entity selection and board **/  
+		// Deselect after combined action
+		context.deselectAllAfterActionPerformed();
+		
+		// Reset board visual (highlighted tiles)
+		GeneralCommandSets.boardVisualReset(context.out, context.getGameStateRef());
+		
+		// Unlock after state activity complete
+		/**===========================================**/
+		context.getGameStateRef().userinteractionUnlock();
+		/**===========================================**/
 	}
 	
 	/* Method for selecting a destination tile for attacking unit to move to.
@@ -158,14 +162,14 @@ public class UnitCombinedActionState implements IUnitPlayStates {
 
 		// Check enemy is in attack range (all action tiles are attackable)
 		if(!(actRange.contains(enemyTarget))) {	
-			System.out.println("Enemy is not in range.");
+			GameLog.info("Enemy is not in range.");
 			return false;
 		}
 		
 		/***	Find and set destination tile relative to enemy target	***/
 		
 		// Get potential destination tiles adjacent to enemy && within movement range
-		ArrayList <Tile> temp = context.getGameStateRef().getBoard().adjTiles(enemyTarget);
+		List <Tile> temp = context.getGameStateRef().getBoard().adjTilesView(enemyTarget);
 		ArrayList <Tile> options = new ArrayList<Tile>(10); 
 		for(Tile t : temp) {
 			if(moveRange.contains(t)) {
@@ -196,7 +200,7 @@ public class UnitCombinedActionState implements IUnitPlayStates {
 			return true;
 		}
 		else {
-			System.out.println("No possible destination during unit combined state.");
+			GameLog.info("No possible destination during unit combined state.");
 			return false;
 		}
 	}
@@ -5,9 +5,11 @@ import structures.basic.*;
 import structures.basic.abilities.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import akka.actor.ActorRef;
 import commands.*;
 import events.gameplaystates.GameplayContext;
+import utils.GameLog;
 
 public class UnitDisplayActionsState implements IUnitPlayStates{
 
@@ -39,7 +41,7 @@ public class UnitDisplayActionsState implements IUnitPlayStates{
 	
 	public void execute(GameplayContext context) {
 		
-		System.out.println("In UnitDisplayActionsState.");
+		GameLog.info("In UnitDisplayActionsState.");
 		
 		// Lock the user out of interfering interaction whilst state activity occurs
 		/**===========================================**/
@@ -91,10 +93,12 @@ public class UnitDisplayActionsState implements IUnitPlayStates{
 				// Update GameState Board reference of selected unit
 				gameState.getBoard().setUnitSelected(m);
 
+				// Highlight of every tile, sent in one go: only tiles whose highlight changes are redrawn
+				HashMap<Tile, Integer> highlights = new HashMap<Tile, Integer>();
+				
 				// Select the tile under Monster for user feedback regardless of range output
-				System.out.println("Selected monster on Tile " + m.getPosition().getTile(gameState.getBoard()));
-				BasicCommands.drawTile(o, gameState.getBoard().getTile((m.getPosition()).getTilex(), (m.getPosition()).getTiley()), 1);
-				GeneralCommandSets.threadSleep();
+				GameLog.info(() -> "Selected monster on Tile " + m.getPosition().getTile(gameState.getBoard()));
+				highlights.put(gameState.getBoard().getTile((m.getPosition()).getTilex(), (m.getPosition()).getTiley()), 1);
 
 				// Get combined action range from various Board methods
 				ArrayList <Tile> mRange = gameState.getBoard().unitMovableTiles(tilex,tiley,m.getMovesLeft());
@@ -105,22 +109,22 @@ public class UnitDisplayActionsState implements IUnitPlayStates{
 				for(Tile t : actRange) {
 					// If attackRange contains t = draw as attack tile
 					if(attRange.contains(t)) {
-						BasicCommands.drawTile(o, t, 2);
-						GeneralCommandSets.threadSleep();
+						highlights.put(t, 2);
 					}
 					// Else, draw as move range tile
 					else {
-						BasicCommands.drawTile(o, t, 1);
-						GeneralCommandSets.threadSleep();
+						highlights.put(t, 1);
 					}
 				}
+				GeneralCommandSets.setBoardHighlights(o, gameState, highlights);
 				return true;
 					
 			} 
 			
-			// Monster is unavailable for action
+			// Monster is unavailable for action, clear any highlight left from a previous selection
 			else {
-				System.out.println("Can't select this monster.");
+				GameLog.info("Can't select this monster.");
+				GeneralCommandSets.setBoardHighlights(o, gameState, new HashMap<Tile, Integer>());
 				return false;
 			}
 			
@@ -141,8 +145,10 @@ public class UnitDisplayActionsState implements IUnitPlayStates{
 			}
 		}
 		// Draw tiles per range type
-		GeneralCommandSets.drawBoardTiles(context.out, displayMoveableTiles, 1);
-		GeneralCommandSets.drawBoardTiles(context.out, displayAttackableTiles, 2);
+		HashMap<Tile, Integer> highlights = new HashMap<Tile, Integer>();
+		for (Tile t : displayMoveableTiles) highlights.put(t, 1);
+		for (Tile t : displayAttackableTiles) highlights.put(t, 2);
+		GeneralCommandSets.setBoardHighlights(context.out, context.getGameStateRef(), highlights);
 
 		// Apply flags due to external factors
 		if (newlySelectedUnit.hasAbility()) {
@@ -1,10 +1,12 @@
 package events.gameplaystates.unitplaystates;
 
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 import commands.*;
 import structures.basic.*;
 import events.gameplaystates.GameplayContext;
+import utils.GameLog;
 
 
 public class UnitMoveActionState implements IUnitPlayStates {
@@ -20,6 +22,7 @@ public class UnitMoveActionState implements IUnitPlayStates {
 	
 	private Tile currentTile; 
 	private Tile targetTile; 
+	private CompletableFuture<Void> movement;		// Completed when the front end reports this move stopped
 	
 	
 	/*** State constructor ***/
@@ -31,13 +34,14 @@ public class UnitMoveActionState implements IUnitPlayStates {
 	public UnitMoveActionState(Tile currentTile, Tile targetTile) {
 		this.currentTile = currentTile;
 		this.targetTile = targetTile; 
+		this.movement = CompletableFuture.completedFuture(null);
 	}
 	
 	/*** State method ***/
 	
 	public void execute(GameplayContext context) {
 		
-		System.out.println("In UnitMoveActionSubState.");
+		GameLog.info("In UnitMoveActionSubState.");
 		
 		
 		// Lock the user out of interfering interaction whilst state activity occurs
@@ -47,10 +51,10 @@ public class UnitMoveActionState implements IUnitPlayStates {
 		
 		// Load unit in context
 		context.setLoadedUnit(currentTile.getUnitOnTile());
-		if(context.getLoadedUnit() == null) {	System.out.println("Error, current tile has no unit.");	}
+		if(context.getLoadedUnit() == null) {	GameLog.info("Error, current tile has no unit.");	}
 		
 		// Perform unit move method
-		System.out.println("Target tile is:" + targetTile);
+		GameLog.info(() -> "Target tile is:" + targetTile);
 		unitMove(context); 
 		
 		/***	Condition here for combined substate executing, which requires selection is maintained	***/
@@ -69,6 +73,11 @@ public class UnitMoveActionState implements IUnitPlayStates {
 	}
 
 
+	// Completes once the unit moved by this state has stopped on the front end (already complete if it did not move)
+	public CompletableFuture<Void> getMovement() {
+		return movement;
+	}
+	
 	
 	// Handles the process flow of movement checks between target tiles 
 	private void unitMove(GameplayContext context) {
@@ -86,7 +95,7 @@ public class UnitMoveActionState implements IUnitPlayStates {
 			
 			for (Tile t : context.getGameStateRef().getTileAdjustedRangeContainer()) {
 				
-				System.out.println(t.getTilex() + "," + t.getTiley());
+				GameLog.info(() -> t.getTilex() + "," + t.getTiley());
 				if (t.getUnitOnTile() == null) {
 					if (t != currentTile) {
 						moveRange.add(t);
@@ -110,36 +119,36 @@ public class UnitMoveActionState implements IUnitPlayStates {
 			
 			// If Monster move method is successful, per internal object checks
 			if (mSelected.move(targetTile)) {
-				System.out.println("MovesLeft: " + mSelected.getMovesLeft());
-				System.out.println("Monster on cooldown: " + mSelected.getOnCooldown());
+				GameLog.info(() -> "MovesLeft: " + mSelected.getMovesLeft());
+				GameLog.info(() -> "Monster on cooldown: " + mSelected.getOnCooldown());
 				
 				// Deselect movement range
 				GeneralCommandSets.drawBoardTiles(context.out, actRange, 0);
-				GeneralCommandSets.threadSleep();
 				// Redraw selected tile visual
 				BasicCommands.drawTile(context.out, currentTile, 0);
-				GeneralCommandSets.threadSleep();GeneralCommandSets.threadSleep();
 
 				// Update Tiles and Unit
 				currentTile.removeUnit();
 				targetTile.addUnit(mSelected);
 				mSelected.setPositionByTile(targetTile);
 				
-				// Set moving flag for tracking when movement is complete
-				context.getGameStateRef().setUnitMovingFlag(true);
+				// Track the movement until the front end reports UnitStopped (no UnitStopped will arrive in a headless game, the move is done at once)
+				movement = context.getGameStateRef().unitMoveStarted(mSelected.getId());
+				if (context.getGameStateRef().isHeadless()) {
+					context.getGameStateRef().unitMoveStopped(mSelected.getId());
+				}
 				
 				// Update front end
 				// Initiate move
 				BasicCommands.moveUnitToTile(context.out, mSelected, targetTile);
-				GeneralCommandSets.threadSleep();	
+				AnimationScheduler.unitMoveQueued(context.out, mSelected, currentTile, targetTile);
 				// Move animation
 				BasicCommands.playUnitAnimation(context.out, mSelected, UnitAnimationType.move);
-				GeneralCommandSets.threadSleep();
 			}
 		}
 		// Destination is not in movement range/unit cannot move
 		else {	
-			System.out.println("Can't complete move.");		
+			GameLog.info("Can't complete move.");		
 		}
 	}
 	
@@ -0,0 +1,215 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+import structures.basic.Board;
+import structures.basic.Monster;
+import structures.basic.Player;
+import structures.basic.Tile;
+
+/**
+ * Times the bitboard range queries of Board (see BoardBitboard) against the nested loop versions
+ * they replaced, on randomly filled boards. The loop versions below follow the ones Board used
+ * before (except that summonable tiles are listed once, as the bitboard version does) and are
+ * kept here only as a reference. Before timing, both are checked to give the same tiles for every
+ * unit on every board. The unfiltered ranges (reachable and adjacent tiles) are compared as
+ * Board's read only views over the range tables shared by all boards of the same size.
+ *
+ * Usage: simulation.BoardRangeTiming [boards] [seed]
+ *
+ */
+public class BoardRangeTiming {
+
+	private static final int defaultBoards = 200;
+	private static final long defaultSeed = 42L;
+	private static final double fill = 0.3;		// Chance a tile holds a unit
+	private static final int range = 2;			// Move range used for the queries
+	private static final int attackRange = 1;	// Attack range used for the queries
+
+
+	public static void main(String[] args) {
+
+		int boardCount = args.length > 0 ? Integer.parseInt(args[0]) : defaultBoards;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : defaultSeed;
+
+		SplittableRandom random = new SplittableRandom(seed);
+		Player one = new Player();
+		Player two = new Player();
+		List<Tile> units = new ArrayList<Tile>();			// Tiles holding a unit, on any board
+		List<Board> unitBoards = new ArrayList<Board>();	// Board of each of those tiles
+		for (int b = 0; b < boardCount; b++) {
+			Board board = new Board();
+			for (Tile t : board.getAllTilesList()) {
+				if (random.nextDouble() < fill) {
+					Monster m = new Monster();
+					m.setOwner(random.nextBoolean() ? one : two);
+					t.addUnit(m);
+					units.add(t);
+					unitBoards.add(board);
+				}
+			}
+		}
+
+		int mismatches = 0;
+		for (int u = 0; u < units.size(); u++) {
+			Tile t = units.get(u);
+			Board board = unitBoards.get(u);
+			Player p = t.getUnitOnTile().getOwner();
+			int x = t.getTilex(), y = t.getTiley();
+			if (!same(board.allSummonableTiles(p), summonableLoop(board, p))
+					|| !same(board.unitMovableTiles(x, y, range), movableLoop(board, x, y, range))
+					|| !same(board.calcAttackRange(x, y, attackRange, p), attackRangeLoop(board, x, y, attackRange, p))
+					|| !same(board.unitAttackableTiles(x, y, attackRange, range), attackableLoop(board, x, y, attackRange, range))
+					|| !board.reachableTilesView(x, y, range).equals(sorted(reachableLoop(board, x, y, range)))
+					|| !board.adjTilesView(t).equals(sorted(adjLoop(board, t)))) {
+				System.out.println("BoardRangeTiming: mismatch for the unit on " + t);
+				mismatches++;
+			}
+		}
+		System.out.println("BoardRangeTiming: " + units.size() + " units on " + boardCount + " boards checked, " + mismatches + " mismatches");
+
+		Tile[] tiles = units.toArray(new Tile[0]);
+		Board[] boardOf = unitBoards.toArray(new Board[0]);
+		int calls = tiles.length;
+
+		System.out.println(Timing.header("loops", "bitboard"));
+		System.out.println(Timing.compare("reachableTilesView",
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> reachableLoop(b, t.getTilex(), t.getTiley(), range).size(), boardOf)),
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> sumX(b.reachableTilesView(t.getTilex(), t.getTiley(), range)), boardOf))));
+		System.out.println(Timing.compare("adjTilesView",
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> adjLoop(b, t).size(), boardOf)),
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> sumX(b.adjTilesView(t)), boardOf))));
+		System.out.println(Timing.compare("allSummonableTiles",
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> summonableLoop(b, t.getUnitOnTile().getOwner()).size(), boardOf)),
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> b.allSummonableTiles(t.getUnitOnTile().getOwner()).size(), boardOf))));
+		System.out.println(Timing.compare("unitMovableTiles",
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> movableLoop(b, t.getTilex(), t.getTiley(), range).size(), boardOf)),
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> b.unitMovableTiles(t.getTilex(), t.getTiley(), range).size(), boardOf))));
+		System.out.println(Timing.compare("calcAttackRange",
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> attackRangeLoop(b, t.getTilex(), t.getTiley(), attackRange, t.getUnitOnTile().getOwner()).size(), boardOf)),
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> Long.bitCount(b.attackRangeMask(t.getTilex(), t.getTiley(), attackRange, t.getUnitOnTile().getOwner())), boardOf))));
+		System.out.println(Timing.compare("unitAttackableTiles",
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> attackableLoop(b, t.getTilex(), t.getTiley(), attackRange, range).size(), boardOf)),
+				Timing.nanosPerOp(calls, cycle(tiles, (b, t) -> Long.bitCount(b.unitAttackableMask(t.getTilex(), t.getTiley(), attackRange, range)), boardOf))));
+
+		if (mismatches > 0) {
+			System.exit(1);
+		}
+	}
+
+
+	/** Timing helpers **/
+
+	interface Query {
+		int run(Board board, Tile unit);
+	}
+
+	// Operation that runs the query for the next unit each call, going round all units
+	private static LongSupplier cycle(Tile[] tiles, Query query, Board[] boards) {
+		int[] next = new int[1];
+		return () -> {
+			int i = next[0];
+			next[0] = i + 1 == tiles.length ? 0 : i + 1;
+			return query.run(boards[i], tiles[i]);
+		};
+	}
+
+	private static boolean same(Collection<Tile> a, Collection<Tile> b) {
+		return new HashSet<Tile>(a).equals(new HashSet<Tile>(b));
+	}
+
+	// The views are in board order
+	private static List<Tile> sorted(List<Tile> tiles) {
+		tiles.sort(Comparator.comparingInt(Tile::getTiley).thenComparingInt(Tile::getTilex));
+		return tiles;
+	}
+
+	// Reads every tile of a view, as the loop versions touch every tile they list
+	private static int sumX(List<Tile> tiles) {
+		int sum = 0;
+		for (int i = 0; i < tiles.size(); i++) sum += tiles.get(i).getTilex();
+		return sum;
+	}
+
+
+	/** Loop versions (as Board had them before the bitboard) **/
+
+	private static final int[] rangeW = {-1, -1, -1, 0, 0, 1, 1, 1};
+	private static final int[] rangeH = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+	private static ArrayList<Tile> adjLoop(Board board, Tile t) {
+		ArrayList<Tile> tileRange = new ArrayList<Tile>();
+		for (int i = 0; i < rangeH.length; i++) {
+			int x = t.getTilex() + rangeW[i], y = t.getTiley() + rangeH[i];
+			if (x < 0 || x > board.getBoardWidth() - 1 || y < 0 || y > board.getBoardLength() - 1) continue;
+			tileRange.add(board.getTile(x, y));
+		}
+		return tileRange;
+	}
+
+	private static HashSet<Tile> summonableLoop(Board board, Player p) {
+		HashSet<Tile> tileList = new HashSet<Tile>();
+		for (Tile t : board.getAllTilesList()) {
+			if (t.getUnitOnTile() == null || t.getUnitOnTile().getOwner() != p) continue;
+			for (Tile adj : adjLoop(board, t)) {
+				if (adj.getFreeStatus()) tileList.add(adj);
+			}
+		}
+		return tileList;
+	}
+
+	private static ArrayList<Tile> reachableLoop(Board board, int xpos, int ypos, int moveRange) {
+		ArrayList<Tile> reachTile = new ArrayList<Tile>();
+		for (int i = xpos - moveRange; i <= (xpos + moveRange); i++) {
+			for (int j = ypos - moveRange; j <= (ypos + moveRange); j++) {
+				if (i <= board.getBoardWidth() - 1 && i >= 0 && j <= board.getBoardLength() - 1 && j >= 0
+						&& Math.abs(i - xpos) + Math.abs(j - ypos) <= moveRange) {
+					reachTile.add(board.getTile(i, j));
+				}
+			}
+		}
+		return reachTile;
+	}
+
+	private static ArrayList<Tile> movableLoop(Board board, int xpos, int ypos, int moveRange) {
+		ArrayList<Tile> tileList = reachableLoop(board, xpos, ypos, moveRange);
+		tileList.removeIf(t -> !(t.getFreeStatus()));
+		return tileList;
+	}
+
+	private static HashSet<Tile> attackRangeLoop(Board board, int xpos, int ypos, int attackRange, Player p) {
+		HashSet<Tile> tileList = new HashSet<Tile>();
+		for (int i = xpos - attackRange; i <= (xpos + attackRange); i++) {
+			for (int j = ypos - attackRange; j <= (ypos + attackRange); j++) {
+				if (i <= board.getBoardWidth() - 1 && i >= 0 && j <= board.getBoardLength() - 1 && j >= 0) {
+					Tile t = board.getTile(i, j);
+					if (t.getUnitOnTile() != null && t.getUnitOnTile().getOwner() != p) tileList.add(t);
+				}
+			}
+		}
+		return tileList;
+	}
+
+	private static HashSet<Tile> attackableLoop(Board board, int xpos, int ypos, int attackRange, int moveRange) {
+		Player p = board.getTile(xpos, ypos).getUnitOnTile().getOwner();
+		HashSet<Tile> tileList = new HashSet<Tile>();
+		if (moveRange == 0) {
+			tileList.addAll(attackRangeLoop(board, xpos, ypos, attackRange, p));
+			return tileList;
+		}
+		for (Tile t : reachableLoop(board, xpos, ypos, moveRange)) {
+			if (t.getFreeStatus()) {
+				tileList.addAll(attackRangeLoop(board, t.getTilex(), t.getTiley(), attackRange, p));
+			} else if (t.getUnitOnTile().getOwner() != p) {
+				tileList.add(t);
+			}
+		}
+		return tileList;
+	}
+}
@@ -0,0 +1,208 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import structures.GameState;
+import structures.basic.Board;
+import structures.basic.BoardBitboard;
+import structures.basic.Card;
+import structures.basic.ComputerPlayer;
+import structures.basic.Player;
+import structures.basic.Spell;
+import structures.basic.Tile;
+import structures.basic.ComputerLogic.CardCombo;
+import structures.basic.ComputerLogic.ComputerPlayCardsLogic;
+import utils.GameLog;
+
+/**
+ * Checks the card combinations the computer player considers (ComputerPlayCardsLogic) against a
+ * brute force enumeration, at the start of every turn of player one in computer vs computer games.
+ *
+ * The brute force tries every subset of the cards in hand and keeps the ones whose mana cost the
+ * player can pay and whose monsters (other than the ones playable anywhere) fit on the board.
+ * Spells are told apart from monsters by the card's associated class, as hand cards are all Cards.
+ * The number of monsters that fit is worked out on a copy of the board, independently of the
+ * bitboard masks the card logic uses.
+ *
+ * The card logic must not change the board: the occupancy of every tile and the bitboard masks
+ * are compared before and after it runs, and it must give the same combos when asked twice.
+ * The games are seeded, so the whole check is run repeats times and every run must check the
+ * same turns with the same outcome.
+ *
+ * Usage: simulation.CardComboCheck [games] [seed] [maxTurns] [repeats]
+ *
+ */
+public class CardComboCheck {
+
+	private static final int defaultGames = 50;
+	private static final long defaultSeed = 42L;
+	private static final int defaultMaxTurns = 200;
+	private static final int defaultRepeats = 2;
+
+
+	public static void main(String[] args) {
+
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : defaultGames;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : defaultSeed;
+		int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : defaultMaxTurns;
+		int repeats = args.length > 3 ? Integer.parseInt(args[3]) : defaultRepeats;
+
+		List<String> first = null;
+		boolean failed = false;
+		for (int run = 1; run <= repeats; run++) {
+			List<String> outcome = run(games, seed, maxTurns);
+			for (String line : outcome) {
+				System.out.println("CardComboCheck run " + run + ": " + line);
+			}
+			// The last line is the summary, every other line a mismatch
+			failed |= outcome.size() > 1;
+
+			if (first == null) {
+				first = outcome;
+			} else if (!first.equals(outcome)) {
+				System.out.println("CardComboCheck: run " + run + " differs from run 1");
+				failed = true;
+			}
+		}
+
+		if (failed) {
+			System.exit(1);
+		}
+	}
+
+	// Check every computer turn of the seeded games, returns the mismatches found followed by a summary line
+	static List<String> run(int games, long seed, int maxTurns) {
+
+		List<String> outcome = new ArrayList<String>();
+		long[] seeds = Tournament.gameSeeds(seed, games);
+		int turnsChecked = 0;
+		for (int game = 0; game < games; game++) {
+			HeadlessGame headlessGame = new HeadlessGame(null, seeds[game]);
+			headlessGame.start();
+
+			while (!headlessGame.isOver() && headlessGame.getTurnsPlayed() < maxTurns) {
+				GameState gameState = headlessGame.getGameState();
+				if (gameState.getTurnOwner() instanceof ComputerPlayer) {
+					// The card logic logs, like the game it is checked in
+					String problem = GameLog.callMuted(() -> check((ComputerPlayer) gameState.getTurnOwner(), gameState));
+					if (problem != null) {
+						outcome.add(problem + " in game " + game + ", turn " + headlessGame.getTurnsPlayed());
+					}
+					turnsChecked++;
+				}
+				headlessGame.playTurn();
+			}
+		}
+
+		outcome.add(turnsChecked + " turns checked, " + outcome.size() + " mismatches");
+		return outcome;
+	}
+
+	// Null if the combos of the card logic are exactly the brute force ones and the board is left as it was
+	static String check(ComputerPlayer player, GameState gameState) {
+
+		Board board = gameState.getBoard();
+		String before = boardSnapshot(board, gameState);
+
+		Set<Set<Card>> logic = combos(player, board);
+		if (!logic.equals(combos(player, board))) return "combos differ when asked twice";
+		new ComputerPlayCardsLogic(player).playCards(board);
+
+		if (!before.equals(boardSnapshot(board, gameState))) return "board changed by the card logic";
+
+		List<Card> hand = new ArrayList<Card>(player.getHand().getHandList());
+		Set<Set<Card>> bruteForce = new HashSet<Set<Card>>();
+		subsets(hand, 0, new HashSet<Card>(), player.getMana(), placeableUnits(player, board, hand.size()), bruteForce);
+
+		return logic.equals(bruteForce) ? null : "combos differ from the brute force";
+	}
+
+	private static Set<Set<Card>> combos(ComputerPlayer player, Board board) {
+		Set<Set<Card>> combos = new HashSet<Set<Card>>();
+		for (CardCombo combo : new ComputerPlayCardsLogic(player).possibleCombos(board)) {
+			combos.add(new HashSet<Card>(combo.getCardCombo()));
+		}
+		return combos;
+	}
+
+	// The unit on every tile and the bitboard masks, as a string to compare
+	private static String boardSnapshot(Board board, GameState gameState) {
+		StringBuilder snapshot = new StringBuilder();
+		for (Tile t : board.getAllTilesList()) {
+			snapshot.append(t.getUnitOnTile() == null ? "-" : t.getUnitOnTile().getId()).append(',');
+		}
+		BoardBitboard bitboard = board.getBitboard();
+		snapshot.append(bitboard.occupied());
+		for (Player p : new Player[] {gameState.getPlayerOne(), gameState.getPlayerTwo()}) {
+			snapshot.append(',').append(bitboard.occupiedBy(p)).append(',').append(board.occupiedTilesView(p).size());
+		}
+		return snapshot.toString();
+	}
+
+	// Add every non empty subset of cards[from..] (on top of chosen) that fits the mana and board
+	private static void subsets(List<Card> cards, int from, Set<Card> chosen, int mana, int placeable, Set<Set<Card>> found) {
+
+		if (from == cards.size()) {
+			int cost = 0;
+			int tiles = 0;
+			for (Card c : chosen) {
+				cost += c.getManacost();
+				if (c.getAssociatedClass() != Spell.class && !c.playableAnywhere()) tiles++;
+			}
+			if (!chosen.isEmpty() && cost <= mana && tiles <= placeable) {
+				found.add(new HashSet<Card>(chosen));
+			}
+			return;
+		}
+
+		subsets(cards, from + 1, chosen, mana, placeable, found);
+		chosen.add(cards.get(from));
+		subsets(cards, from + 1, chosen, mana, placeable, found);
+		chosen.remove(cards.get(from));
+	}
+
+	// Number of units (up to maxUnits) that can be summoned one after the other, each on the first free tile (in board
+	// order) next to one of the player's units. Worked out on a copy of the board's occupancy, not with bitboard masks
+	private static int placeableUnits(ComputerPlayer player, Board board, int maxUnits) {
+
+		int width = board.getBoardWidth();
+		int length = board.getBoardLength();
+		boolean[][] own = new boolean[length][width];
+		boolean[][] taken = new boolean[length][width];
+		for (Tile t : board.getAllTilesList()) {
+			if (t.getUnitOnTile() != null) {
+				taken[t.getTiley()][t.getTilex()] = true;
+				own[t.getTiley()][t.getTilex()] = t.getUnitOnTile().getOwner() == player;
+			}
+		}
+
+		int placed = 0;
+		while (placed < maxUnits) {
+			boolean found = false;
+			for (int y = 0; y < length && !found; y++) {
+				for (int x = 0; x < width && !found; x++) {
+					if (!taken[y][x] && nextToOwn(own, x, y)) {
+						own[y][x] = true;
+						taken[y][x] = true;
+						found = true;
+					}
+				}
+			}
+			if (!found) break;
+			placed++;
+		}
+		return placed;
+	}
+
+	private static boolean nextToOwn(boolean[][] own, int x, int y) {
+		for (int j = Math.max(0, y - 1); j <= Math.min(own.length - 1, y + 1); j++) {
+			for (int i = Math.max(0, x - 1); i <= Math.min(own[0].length - 1, x + 1); i++) {
+				if (own[j][i]) return true;
+			}
+		}
+		return false;
+	}
+}
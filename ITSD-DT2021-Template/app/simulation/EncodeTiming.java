@@ -0,0 +1,112 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import commands.CardView;
+import commands.PlayerView;
+import commands.TileView;
+import commands.UnitView;
+import structures.GameState;
+import structures.basic.Card;
+import structures.basic.Monster;
+import structures.basic.Player;
+import structures.basic.Tile;
+
+/**
+ * Times how BasicCommands encodes the objects of a command into a Json tree, straight into the
+ * tree (valueToTree) against the round trip through a String it replaced (writeValueAsString,
+ * then readTree). The objects are the tile, unit, card and player views of a started seeded
+ * game. Before timing, both ways are checked to give equal trees for every object.
+ *
+ * Usage: simulation.EncodeTiming [seed]
+ *
+ */
+public class EncodeTiming {
+
+	private static final long defaultSeed = 42L;
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+
+	public static void main(String[] args) throws Exception {
+
+		long seed = args.length > 0 ? Long.parseLong(args[0]) : defaultSeed;
+
+		HeadlessGame headlessGame = new HeadlessGame(null, seed);
+		headlessGame.start();
+		GameState gameState = headlessGame.getGameState();
+
+		List<Object> tiles = new ArrayList<Object>();
+		List<Object> units = new ArrayList<Object>();
+		for (Tile tile : gameState.getBoard().getAllTilesList()) {
+			tiles.add(TileView.of(tile));
+			Monster unit = tile.getUnitOnTile();
+			if (unit != null) units.add(unit.getTemplate() == null ? UnitView.of(unit) : UnitView.ofTemplate(unit));
+		}
+		List<Object> cards = new ArrayList<Object>();
+		List<Object> players = new ArrayList<Object>();
+		for (Player player : new Player[] {gameState.getPlayerOne(), gameState.getPlayerTwo()}) {
+			players.add(PlayerView.of(player));
+			for (Card card : player.getHand().getHandList()) cards.add(CardView.of(card));
+		}
+
+		int mismatches = 0;
+		for (List<Object> objects : Arrays.asList(tiles, units, cards, players)) {
+			for (Object object : objects) {
+				if (!mapper.valueToTree(object).equals(roundTrip(object))) {
+					System.out.println("EncodeTiming: mismatch for " + mapper.writeValueAsString(object));
+					mismatches++;
+				}
+			}
+		}
+		System.out.println("EncodeTiming: " + (tiles.size() + units.size() + cards.size() + players.size()) + " objects checked, " + mismatches + " mismatches");
+
+		System.out.println(Timing.header("String round trip", "valueToTree"));
+		time("tile", tiles);
+		time("unit", units);
+		time("card", cards);
+		time("player", players);
+
+		if (mismatches > 0) {
+			System.exit(1);
+		}
+	}
+
+	private static void time(String kind, List<Object> objects) {
+		if (objects.isEmpty()) return;
+		Object[] all = objects.toArray();
+		int calls = Math.max(1000, all.length * 10);
+		System.out.println(Timing.compare(kind,
+				Timing.nanosPerOp(calls, cycle(all, object -> roundTrip(object).size())),
+				Timing.nanosPerOp(calls, cycle(all, object -> mapper.valueToTree(object).size()))));
+	}
+
+	interface Encoding {
+		int run(Object object);
+	}
+
+	// Operation that encodes the next object each call, going round all objects
+	private static LongSupplier cycle(Object[] objects, Encoding encoding) {
+		int[] next = new int[1];
+		return () -> {
+			int i = next[0];
+			next[0] = i + 1 == objects.length ? 0 : i + 1;
+			return encoding.run(objects[i]);
+		};
+	}
+
+	// How objects were encoded before, through a String parsed back into a tree
+	private static JsonNode roundTrip(Object object) {
+		try {
+			return mapper.readTree(mapper.writeValueAsString(object));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
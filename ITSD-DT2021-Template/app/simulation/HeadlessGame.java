@@ -0,0 +1,186 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import akka.actor.ActorRef;
+import events.ComputerPlayerTurn;
+import events.EndTurnClicked;
+import events.EventProcessor;
+import events.Initalize;
+import play.libs.Json;
+import structures.GameState;
+import structures.basic.Card;
+import structures.basic.ComputerPlayer;
+import structures.basic.Player;
+import utils.GameLog;
+
+/**
+ * A game that runs without a browser. The same event processors, game states and computer
+ * logic as a websocket game are used, but the GameState is headless: UI commands are dropped
+ * (out is null) or handed to a recording sink (e.g. actors.CommandRecorder), and nothing
+ * sleeps for animations or waits for UnitStopped. Every event is processed on the calling
+ * thread, so a game runs at CPU speed and many games can be simulated side by side.
+ *
+ * The game logic's console log (see GameLog) is muted while the game runs unless the game is
+ * set to verbose. Only the calling thread is muted, other games and sessions are not affected.
+ *
+ */
+public class HeadlessGame {
+
+	private final ActorRef out;				// null (commands dropped) or a recording sink
+	private final GameState gameState;		// State of this game only, nothing is shared with other games
+
+	private final EventProcessor initalize = new Initalize();
+	private final EventProcessor endTurnClicked = new EndTurnClicked();
+
+	private int turnsPlayed;				// Number of times the end turn event was processed
+	private boolean verbose;				// Whether the game logic logs while this game runs
+	private final HashMap<Player, List<Card>> startingCards;	// Deck and hand of each player before the game started
+
+
+	// Headless game that drops all UI commands
+	public HeadlessGame() {
+		this(null);
+	}
+
+	// Headless game that sends its UI commands to a sink
+	public HeadlessGame(ActorRef out) {
+		this(out, GameLog.callMuted(() -> new GameState()));
+	}
+
+	// Computer vs computer game with decks shuffled from the given seed, the same seed plays the same game
+	public HeadlessGame(ActorRef out, long seed) {
+		this(out, GameLog.callMuted(() -> new GameState(seed, true)));
+	}
+
+	private HeadlessGame(ActorRef out, GameState gameState) {
+		this.out = out;
+		this.gameState = gameState;
+		this.gameState.setHeadless(true);
+		this.turnsPlayed = 0;
+
+		this.startingCards = new HashMap<Player, List<Card>>();
+		for (Player p : new Player[] {gameState.getPlayerOne(), gameState.getPlayerTwo()}) {
+			startingCards.put(p, remainingCards(p));
+		}
+	}
+
+
+	/** Game flow **/
+
+	// Set up the board, avatars and hands (what the front end triggers with the initalize event)
+	public void start() {
+		processEvent(initalize, "initalize");
+	}
+
+	// End the turn owner's turn. When the computer player gets the turn, its whole turn is played before returning
+	public void endTurn() {
+		// Nothing runs in the background of a headless game, release a lock left behind by an action that returned early
+		gameState.userinteractionUnlock();
+		processEvent(endTurnClicked, "endturnclicked");
+		turnsPlayed++;
+	}
+
+	// Play the turn of the turn owner. A computer player one plays its actions first, a human player one
+	// does nothing. Ending player one's turn also plays player two's (computer) turn
+	public void playTurn() {
+		Player turnOwner = gameState.getTurnOwner();
+		if (turnOwner == gameState.getPlayerOne() && turnOwner instanceof ComputerPlayer) {
+			ComputerPlayer computerPlayer = (ComputerPlayer) turnOwner;
+			logged(() -> new ComputerPlayerTurn.RunComputerTurnOnThread(out, gameState).performActions(computerPlayer).join());
+		}
+		if (!isOver()) {
+			endTurn();
+		}
+	}
+
+	// Play from the start until a player has lost or maxTurns turns were played
+	public void playUntilOver(int maxTurns) {
+		start();
+		while (!isOver() && turnsPlayed < maxTurns) {
+			playTurn();
+		}
+	}
+
+	// Hand any other front end event to its processor, e.g. a tileclicked event with tilex/tiley
+	public void processEvent(EventProcessor processor, ObjectNode message) {
+		logged(() -> {
+			try {
+				processor.processEvent(out, gameState, message);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		});
+	}
+
+	// Run a step of the game with the game logic's log muted, unless the game is verbose
+	private void logged(Runnable step) {
+		if (verbose) step.run();
+		else GameLog.runMuted(step);
+	}
+
+	private void processEvent(EventProcessor processor, String messageType) {
+		ObjectNode message = Json.newObject();
+		message.put("messagetype", messageType);
+		processEvent(processor, message);
+	}
+
+
+	/** Getters and setters **/
+
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
+	}
+
+	public boolean isVerbose() {
+		return verbose;
+	}
+
+	public boolean isOver() {
+		return gameState.isPlayerDead();
+	}
+
+	// Winner of a finished game, null while the game is running or if it ended without a winner.
+	// A player loses when their health reaches 0 or when they have to draw from an empty deck
+	public Player getWinner() {
+		if (!isOver()) return null;
+
+		Player one = gameState.getPlayerOne();
+		Player two = gameState.getPlayerTwo();
+		if (one.isDead() != two.isDead()) {
+			return one.isDead() ? two : one;
+		}
+
+		boolean oneDeckEmpty = one.getDeck().getCardList().isEmpty();
+		boolean twoDeckEmpty = two.getDeck().getCardList().isEmpty();
+		if (oneDeckEmpty != twoDeckEmpty) {
+			return oneDeckEmpty ? two : one;
+		}
+		return null;
+	}
+
+	// Cards a player no longer holds (in deck or hand), i.e. the cards that were played
+	public List<Card> getCardsPlayed(Player p) {
+		List<Card> played = new ArrayList<Card>(startingCards.get(p));
+		played.removeAll(remainingCards(p));
+		return played;
+	}
+
+	private static List<Card> remainingCards(Player p) {
+		List<Card> cards = new ArrayList<Card>(p.getDeck().getCardList());
+		cards.addAll(p.getHand().getHandList());
+		return cards;
+	}
+
+	public GameState getGameState() {
+		return gameState;
+	}
+
+	public int getTurnsPlayed() {
+		return turnsPlayed;
+	}
+}
@@ -0,0 +1,117 @@
+package simulation;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import structures.basic.Monster;
+import structures.basic.Unit;
+import utils.BasicObjectBuilders;
+import utils.ConfigRegistry;
+import utils.StaticConfFiles;
+
+/**
+ * Measures the heap taken by units and games, to check what sharing the unit appearance
+ * (animations and image correction, see BasicObjectBuilders) saves. Units are built from every
+ * unit config file in StaticConfFiles in turn and kept alive, the heap in use is read after a
+ * GC before and after:
+ *
+ *   unshared - every unit bound with its own appearance (as before the appearance was shared)
+ *   shared   - units built by BasicObjectBuilders, bound without an appearance once it is shared
+ *
+ * The time to bind a unit both ways is reported too, then the heap taken per started game.
+ * Heap figures from Runtime are approximate, run with a fixed heap (-Xms = -Xmx) for steadier
+ * numbers.
+ *
+ * Usage: simulation.HeapFootprint [units] [games]
+ *
+ */
+public class HeapFootprint {
+
+	private static final int defaultUnits = 5000;
+	private static final int defaultGames = 100;
+	private static final String unitConfs = "conf/gameconfs/units/";
+
+
+	public static void main(String[] args) throws Exception {
+
+		int unitCount = args.length > 0 ? Integer.parseInt(args[0]) : defaultUnits;
+		int gameCount = args.length > 1 ? Integer.parseInt(args[1]) : defaultGames;
+
+		List<String> files = unitConfigFiles();
+		if (files.isEmpty()) {
+			System.out.println("HeapFootprint: no unit config files found");
+			System.exit(1);
+		}
+
+		long before = usedHeap();
+		List<Unit> unshared = new ArrayList<Unit>(unitCount);
+		for (int i = 0; i < unitCount; i++) {
+			unshared.add(ConfigRegistry.load(files.get(i % files.size()), Monster.class));
+		}
+		long unsharedBytes = usedHeap() - before;
+		unshared = null;
+
+		before = usedHeap();
+		List<Unit> shared = new ArrayList<Unit>(unitCount);
+		for (int i = 0; i < unitCount; i++) {
+			shared.add(BasicObjectBuilders.loadUnit(files.get(i % files.size()), i, Monster.class));
+		}
+		long sharedBytes = usedHeap() - before;
+		shared = null;
+
+		System.out.println(String.format("HeapFootprint: %d units from %d config files", unitCount, files.size()));
+		System.out.println(String.format("  unshared appearance %10.0f bytes/unit", (double) unsharedBytes / unitCount));
+		System.out.println(String.format("  shared appearance   %10.0f bytes/unit", (double) sharedBytes / unitCount));
+
+		int[] next = new int[1];
+		double fullBind = Timing.nanosPerOp(files.size() * 100, () -> bind(files, next, false));
+		double skippedBind = Timing.nanosPerOp(files.size() * 100, () -> bind(files, next, true));
+		System.out.println(Timing.header("full bind", "no appearance"));
+		System.out.println(Timing.compare("bind unit", fullBind, skippedBind));
+
+		before = usedHeap();
+		List<HeadlessGame> games = new ArrayList<HeadlessGame>(gameCount);
+		for (int game = 0; game < gameCount; game++) {
+			HeadlessGame headlessGame = new HeadlessGame(null, game);
+			headlessGame.start();
+			games.add(headlessGame);
+		}
+		long gameBytes = usedHeap() - before;
+		System.out.println(String.format("HeapFootprint: %d started games, %.0f bytes/game", games.size(), (double) gameBytes / games.size()));
+	}
+
+	// Binds a unit from the next config file, returns its id so the JIT keeps the work
+	private static long bind(List<String> files, int[] next, boolean withoutAppearance) {
+		String file = files.get(next[0]++ % files.size());
+		try {
+			Unit unit = withoutAppearance ? ConfigRegistry.loadWithoutAppearance(file, Monster.class) : ConfigRegistry.load(file, Monster.class);
+			return unit.getId();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// Every unit config file listed in StaticConfFiles
+	static List<String> unitConfigFiles() throws IllegalAccessException {
+		List<String> files = new ArrayList<String>();
+		for (Field field : StaticConfFiles.class.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+				String file = (String) field.get(null);
+				if (file.startsWith(unitConfs)) files.add(file);
+			}
+		}
+		return files;
+	}
+
+	// Heap in use once garbage has been collected
+	private static long usedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
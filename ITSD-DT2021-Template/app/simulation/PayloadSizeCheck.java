@@ -0,0 +1,165 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import commands.CardView;
+import commands.PlayerView;
+import commands.TileView;
+import commands.UnitView;
+import structures.GameState;
+import structures.basic.Card;
+import structures.basic.Monster;
+import structures.basic.Player;
+import structures.basic.Tile;
+
+/**
+ * Checks the size of the tiles, units, cards and players the front end is sent, as encoded by
+ * their views (see BasicCommands), at the start of every turn of seeded computer vs computer games.
+ *
+ * Every encoded view must stay within a fixed bound, so game state the front end does not draw
+ * (a unit's owner with its hand and deck, a card's abilities, ...) cannot creep back into the
+ * commands. A tile must also encode to the same bytes all game long, whatever unit stands on it,
+ * as BasicCommands caches its drawTile messages.
+ *
+ * For comparison, the size of the same objects encoded whole (as they were before the views) is
+ * reported next to the view sizes. Objects that cannot be encoded whole are counted as failed.
+ *
+ * Usage: simulation.PayloadSizeCheck [games] [seed] [maxTurns]
+ *
+ */
+public class PayloadSizeCheck {
+
+	private static final int defaultGames = 20;
+	private static final long defaultSeed = 42L;
+	private static final int defaultMaxTurns = 200;
+
+	// Largest encoded view allowed, in bytes
+	private static final int maxTileBytes = 512;
+	private static final int maxUnitBytes = 256;		// Units are sent referencing their template
+	private static final int maxCardBytes = 4096;		// Sent once per card and session (defineCard)
+	private static final int maxPlayerBytes = 64;
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+
+	public static void main(String[] args) {
+
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : defaultGames;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : defaultSeed;
+		int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : defaultMaxTurns;
+
+		Sizes tiles = new Sizes("tile", maxTileBytes);
+		Sizes units = new Sizes("unit", maxUnitBytes);
+		Sizes cards = new Sizes("card", maxCardBytes);
+		Sizes players = new Sizes("player", maxPlayerBytes);
+		List<String> problems = new ArrayList<String>();
+
+		long[] seeds = Tournament.gameSeeds(seed, games);
+		int turnsChecked = 0;
+		for (int game = 0; game < games; game++) {
+			HeadlessGame headlessGame = new HeadlessGame(null, seeds[game]);
+			headlessGame.start();
+
+			Map<Tile, byte[]> firstTileEncoding = new HashMap<Tile, byte[]>();
+			while (!headlessGame.isOver() && headlessGame.getTurnsPlayed() < maxTurns) {
+				GameState gameState = headlessGame.getGameState();
+				String where = " in game " + game + ", turn " + headlessGame.getTurnsPlayed();
+
+				for (Tile tile : gameState.getBoard().getAllTilesList()) {
+					byte[] encoded = tiles.add(TileView.of(tile), tile, problems, where);
+					byte[] first = firstTileEncoding.putIfAbsent(tile, encoded);
+					if (first != null && !Arrays.equals(first, encoded)) {
+						problems.add("tile " + tile.getTilex() + "," + tile.getTiley() + " encodes differently" + where);
+					}
+
+					Monster unit = tile.getUnitOnTile();
+					if (unit != null) {
+						units.add(unit.getTemplate() == null ? UnitView.of(unit) : UnitView.ofTemplate(unit), unit, problems, where);
+					}
+				}
+				for (Player player : new Player[] {gameState.getPlayerOne(), gameState.getPlayerTwo()}) {
+					players.add(PlayerView.of(player), player, problems, where);
+					for (Card card : player.getHand().getHandList()) {
+						cards.add(CardView.of(card), card, problems, where);
+					}
+				}
+
+				turnsChecked++;
+				headlessGame.playTurn();
+			}
+		}
+
+		for (String problem : problems) {
+			System.out.println("PayloadSizeCheck: " + problem);
+		}
+		System.out.println(String.format("%-8s %8s %10s %10s %6s %12s %12s %8s", "", "count", "view avg", "view max", "bound", "whole avg", "whole max", "failed"));
+		for (Sizes sizes : new Sizes[] {tiles, units, cards, players}) {
+			System.out.println(sizes.report());
+		}
+		System.out.println("PayloadSizeCheck: " + turnsChecked + " turns checked, " + problems.size() + " problems");
+
+		if (!problems.isEmpty()) {
+			System.exit(1);
+		}
+	}
+
+
+	// Encoded sizes of one kind of object, as its view and whole
+	private static class Sizes {
+
+		private final String kind;
+		private final int bound;
+		private int count;
+		private long viewTotal;
+		private int viewMax;
+		private int wholeCount;
+		private long wholeTotal;
+		private int wholeMax;
+		private int wholeFailed;
+
+		Sizes(String kind, int bound) {
+			this.kind = kind;
+			this.bound = bound;
+		}
+
+		// Records the sizes of an object and its view, returns the encoded view
+		byte[] add(Object view, Object whole, List<String> problems, String where) {
+			byte[] encoded;
+			try {
+				encoded = mapper.writeValueAsBytes(view);
+			} catch (Exception e) {
+				problems.add(kind + " view cannot be encoded (" + e.getMessage() + ")" + where);
+				return null;
+			}
+			int bytes = encoded.length;
+			if (bytes > bound) {
+				problems.add(kind + " view is " + bytes + " bytes, over the " + bound + " byte bound" + where);
+			}
+			count++;
+			viewTotal += bytes;
+			viewMax = Math.max(viewMax, bytes);
+
+			try {
+				int wholeBytes = mapper.writeValueAsBytes(whole).length;
+				wholeCount++;
+				wholeTotal += wholeBytes;
+				wholeMax = Math.max(wholeMax, wholeBytes);
+			} catch (Exception e) {
+				wholeFailed++;
+			}
+			return encoded;
+		}
+
+		String report() {
+			return String.format("%-8s %8d %10.0f %10d %6d %12.0f %12d %8d", kind, count,
+					count == 0 ? 0.0 : (double) viewTotal / count, viewMax, bound,
+					wholeCount == 0 ? 0.0 : (double) wholeTotal / wholeCount, wholeMax, wholeFailed);
+		}
+	}
+}
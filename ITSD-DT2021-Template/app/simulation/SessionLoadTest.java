@@ -0,0 +1,126 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import actors.CommandRecorder;
+import actors.GameActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import play.libs.Json;
+import utils.AIExecutor;
+
+/**
+ * Load test of the websocket side: opens many sessions (GameActors) at once in one actor system,
+ * each with a CommandRecorder in place of the browser, and plays the start of a game on all of
+ * them. Every session gets the initalize event and one end turn (so the computer player takes a
+ * turn on the AIExecutor), then heartbeats like a browser until no session receives commands
+ * any more.
+ *
+ * Reports the time each session took from the initalize event to its first game command, the
+ * total time until all sessions were quiet, and the peak number of live threads, which stays
+ * bounded as the sessions share the game logic dispatcher rather than owning a thread each.
+ *
+ * Usage: simulation.SessionLoadTest [sessions]
+ *
+ */
+public class SessionLoadTest {
+
+	private static final int defaultSessions = 500;
+	private static final long heartbeatInterval = 50;	// ms between the heartbeats of a session, as a browser fires them
+	private static final long quietTime = 2000;			// ms without new commands after which the test ends
+	private static final long maxTime = 300000;			// ms after which the test ends anyway
+
+
+	public static void main(String[] args) throws Exception {
+
+		int sessions = args.length > 0 ? Integer.parseInt(args[0]) : defaultSessions;
+
+		ActorSystem system = ActorSystem.create("session-load-test");
+		List<ActorRef> games = new ArrayList<ActorRef>();
+		List<List<JsonNode>> recorded = new ArrayList<List<JsonNode>>();
+		for (int i = 0; i < sessions; i++) {
+			List<JsonNode> commands = Collections.synchronizedList(new ArrayList<JsonNode>());
+			ActorRef recorder = system.actorOf(Props.create(CommandRecorder.class, commands), "recorder-" + i);
+			games.add(system.actorOf(Props.create(GameActor.class, recorder), "game-" + i));
+			recorded.add(commands);
+		}
+
+		// The constructor of each GameActor sends actorReady, game commands come after it
+		long start = System.nanoTime();
+		long[] firstCommand = new long[sessions];
+		for (ActorRef game : games) {
+			game.tell(event("initalize"), ActorRef.noSender());
+			game.tell(event("endturnclicked"), ActorRef.noSender());
+		}
+
+		int peakThreads = Thread.activeCount();
+		long lastChange = System.nanoTime();
+		int lastTotal = 0;
+		while (millisSince(lastChange) < quietTime && millisSince(start) < maxTime) {
+			for (ActorRef game : games) {
+				game.tell(event("heartbeat"), ActorRef.noSender());
+			}
+			Thread.sleep(heartbeatInterval);
+
+			int total = 0;
+			for (int i = 0; i < sessions; i++) {
+				int received = recorded.get(i).size();
+				if (firstCommand[i] == 0 && received > 1) {
+					firstCommand[i] = System.nanoTime() - start;
+				}
+				total += received;
+			}
+			if (total != lastTotal) {
+				lastTotal = total;
+				lastChange = System.nanoTime();
+			}
+			peakThreads = Math.max(peakThreads, Thread.activeCount());
+		}
+		long elapsed = millisSince(start) - quietTime;
+
+		int started = 0;
+		long[] latencies = new long[sessions];
+		for (int i = 0; i < sessions; i++) {
+			if (firstCommand[i] != 0) latencies[started++] = firstCommand[i];
+		}
+		latencies = Arrays.copyOf(latencies, started);
+		Arrays.sort(latencies);
+
+		System.out.println(String.format("SessionLoadTest: %d sessions, %d started, %d commands in %d ms, peak %d threads",
+				sessions, started, lastTotal, elapsed, peakThreads));
+		if (started > 0) {
+			System.out.println(String.format("SessionLoadTest: first command after %.1f ms (p50), %.1f ms (p99), %.1f ms (max)",
+					percentile(latencies, 0.5), percentile(latencies, 0.99), latencies[started - 1] / 1e6));
+		}
+		System.out.println(AIExecutor.metrics());
+
+		system.terminate();
+		system.getWhenTerminated().toCompletableFuture().join();
+		if (started < sessions) {
+			System.exit(1);
+		}
+	}
+
+	private static JsonNode event(String messageType) {
+		ObjectNode message = Json.newObject();
+		message.put("messagetype", messageType);
+		return message;
+	}
+
+	private static long millisSince(long nanoTime) {
+		return (System.nanoTime() - nanoTime) / 1000000;
+	}
+
+	// In ms, sorted holds nanoseconds
+	private static double percentile(long[] sorted, double p) {
+		int index = Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+}
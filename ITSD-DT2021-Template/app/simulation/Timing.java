@@ -0,0 +1,49 @@
+package simulation;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Small timing harness for the simulation checks that compare two implementations of the same
+ * thing (e.g. BoardRangeTiming). Each operation is run for a warm up first, so the JIT has
+ * compiled it, then timed over a number of rounds; the fastest round is reported, as it is the
+ * one least disturbed by GC and other threads. The value an operation returns is folded into a
+ * sink so the JIT cannot drop the work.
+ *
+ */
+final class Timing {
+
+	private static final int warmupRounds = 5;
+	private static final int rounds = 10;
+
+	private static volatile long sink;		// Results of the timed operations, never read
+
+
+	private Timing() {}
+
+	// Fastest time per call of op in ns, over rounds of the given number of calls
+	static double nanosPerOp(int callsPerRound, LongSupplier op) {
+
+		long result = 0L;
+		for (int round = 0; round < warmupRounds; round++) {
+			for (int call = 0; call < callsPerRound; call++) result += op.getAsLong();
+		}
+
+		long best = Long.MAX_VALUE;
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			for (int call = 0; call < callsPerRound; call++) result += op.getAsLong();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		sink += result;
+		return (double) best / callsPerRound;
+	}
+
+	// One line comparing a reference implementation with its replacement
+	static String compare(String name, double referenceNanos, double nanos) {
+		return String.format("%-28s %10.1f ns/op %10.1f ns/op %6.1fx", name, referenceNanos, nanos, referenceNanos / nanos);
+	}
+
+	static String header(String reference, String replacement) {
+		return String.format("%-28s %16s %16s %7s", "", reference, replacement, "speedup");
+	}
+}
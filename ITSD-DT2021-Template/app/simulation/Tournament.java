@@ -0,0 +1,274 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import structures.basic.Card;
+import structures.basic.Player;
+
+/**
+ * Plays computer vs computer games (headless, see HeadlessGame) across all cores and reports
+ * the win rate of each player, the number of turns per game and the impact of each card.
+ *
+ * Games are split over a fork/join pool. Every game has its own GameState and its own seeded
+ * decks, so the games share nothing but the read-only config and ability data. The seed of each
+ * game is split off one SplittableRandom (in game order, before any game is played), so the same
+ * seed always plays the same set of games whatever the number of threads.
+ *
+ * Usage: simulation.Tournament [games] [seed] [threads] [maxTurns] [-v] [-scaling]
+ *   -v keeps the game logic log of the games (it is muted by default as it would dominate the run time)
+ *   -scaling plays the games with 1, 2, 4, ... up to threads threads and reports the speedup over one thread
+ *
+ */
+public class Tournament {
+
+	private static final int defaultGames = 1000;
+	private static final long defaultSeed = 42L;
+	private static final int defaultMaxTurns = 200;		// Turn limit, a game still running then is a draw
+
+
+	public static void main(String[] args) {
+
+		int games = defaultGames;
+		long seed = defaultSeed;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int maxTurns = defaultMaxTurns;
+		boolean verbose = false;
+		boolean scaling = false;
+
+		// Positional arguments, -v and -scaling can go anywhere
+		int position = 0;
+		for (String arg : args) {
+			if (arg.equals("-v")) {
+				verbose = true;
+				continue;
+			}
+			if (arg.equals("-scaling")) {
+				scaling = true;
+				continue;
+			}
+			switch (position++) {
+			case 0: games = Integer.parseInt(arg); break;
+			case 1: seed = Long.parseLong(arg); break;
+			case 2: threads = Integer.parseInt(arg); break;
+			case 3: maxTurns = Integer.parseInt(arg); break;
+			default: System.err.println("Tournament: ignoring argument " + arg);
+			}
+		}
+
+		System.out.println("Tournament: " + games + " games, seed " + seed + ", " + threads + " threads, max " + maxTurns + " turns");
+
+		if (scaling) {
+			measureScaling(games, seed, threads, maxTurns);
+			return;
+		}
+
+		long start = System.nanoTime();
+		Result result = run(games, seed, threads, maxTurns, verbose);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println(result.report());
+		System.out.printf("Played %d games in %.2f s (%.1f games/s)%n", result.games, seconds, result.games / seconds);
+	}
+
+
+	// Play games [0, games) on a pool of the given size and merge their results
+	public static Result run(int games, long seed, int threads, int maxTurns, boolean verbose) {
+
+		// Enough tasks to keep every thread busy when games take different times
+		int batchSize = Math.max(1, games / (threads * 8));
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			return pool.invoke(new PlayGames(0, games, gameSeeds(seed, games), maxTurns, batchSize, verbose));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// Seed of every game, each split off the tournament's random source in game order
+	static long[] gameSeeds(long seed, int games) {
+		SplittableRandom tournament = new SplittableRandom(seed);
+		long[] seeds = new long[games];
+		for (int game = 0; game < games; game++) {
+			seeds[game] = tournament.split().nextLong();
+		}
+		return seeds;
+	}
+
+	// Play the same games with 1, 2, 4, ... threads (and maxThreads) and report the games/s and speedup of each.
+	// A run with one thread comes first to warm up the JIT, it is not reported
+	static void measureScaling(int games, long seed, int maxThreads, int maxTurns) {
+
+		run(Math.max(1, games / 10), seed, 1, maxTurns, false);
+
+		double baseline = 0.0;
+		System.out.println(String.format("%8s %10s %10s %8s %10s", "threads", "seconds", "games/s", "speedup", "efficiency"));
+		List<Integer> threadCounts = new ArrayList<Integer>();
+		for (int threads = 1; threads < maxThreads; threads *= 2) threadCounts.add(threads);
+		threadCounts.add(maxThreads);
+		for (int threads : threadCounts) {
+			long start = System.nanoTime();
+			Result result = run(games, seed, threads, maxTurns, false);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			double rate = result.games / seconds;
+			if (threads == 1) baseline = rate;
+			System.out.println(String.format("%8d %10.2f %10.1f %7.2fx %9.0f%%", threads, seconds, rate, rate / baseline, 100.0 * rate / baseline / threads));
+		}
+	}
+
+
+	/** Fork/join task playing a range of games **/
+	private static class PlayGames extends RecursiveTask<Result> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;			// First game (inclusive)
+		private final int to;			// Last game (exclusive)
+		private final long[] seeds;		// Seed of every game
+		private final int maxTurns;
+		private final int batchSize;	// Games played by one task without splitting further
+		private final boolean verbose;	// Whether the games log
+
+		PlayGames(int from, int to, long[] seeds, int maxTurns, int batchSize, boolean verbose) {
+			this.from = from;
+			this.to = to;
+			this.seeds = seeds;
+			this.maxTurns = maxTurns;
+			this.batchSize = batchSize;
+			this.verbose = verbose;
+		}
+
+		@Override
+		protected Result compute() {
+
+			// Small enough, play the games on this thread
+			if (to - from <= batchSize) {
+				Result result = new Result();
+				for (int game = from; game < to; game++) {
+					try {
+						HeadlessGame headlessGame = new HeadlessGame(null, seeds[game]);
+						headlessGame.setVerbose(verbose);
+						headlessGame.playUntilOver(maxTurns);
+						result.add(headlessGame);
+					} catch (Exception e) {
+						e.printStackTrace();
+						result.errors++;
+					}
+				}
+				return result;
+			}
+
+			// Otherwise split in two halves
+			int middle = (from + to) >>> 1;
+			PlayGames left = new PlayGames(from, middle, seeds, maxTurns, batchSize, verbose);
+			PlayGames right = new PlayGames(middle, to, seeds, maxTurns, batchSize, verbose);
+			left.fork();
+			Result result = right.compute();
+			result.merge(left.join());
+			return result;
+		}
+	}
+
+
+	/** Aggregated results of a set of games **/
+	public static class Result {
+
+		int games;
+		int playerOneWins;
+		int playerTwoWins;
+		int draws;
+		int errors;
+		long turns;
+		final Map<String, int[]> cardStats = new TreeMap<String, int[]>();	// Card name -> {games played in, games won by the player that played it}
+
+		// Add a finished game
+		void add(HeadlessGame game) {
+
+			Player one = game.getGameState().getPlayerOne();
+			Player two = game.getGameState().getPlayerTwo();
+			Player winner = game.getWinner();
+
+			games++;
+			turns += game.getTurnsPlayed();
+			if (winner == one) playerOneWins++;
+			else if (winner == two) playerTwoWins++;
+			else draws++;
+
+			for (Player p : new Player[] {one, two}) {
+				// Count a card once per game and player, even if both copies were played
+				Set<String> played = new TreeSet<String>();
+				for (Card c : game.getCardsPlayed(p)) {
+					played.add(c.getCardname());
+				}
+				for (String cardname : played) {
+					int[] stats = cardStats.computeIfAbsent(cardname, name -> new int[2]);
+					stats[0]++;
+					if (winner == p) stats[1]++;
+				}
+			}
+		}
+
+		void merge(Result other) {
+			games += other.games;
+			playerOneWins += other.playerOneWins;
+			playerTwoWins += other.playerTwoWins;
+			draws += other.draws;
+			errors += other.errors;
+			turns += other.turns;
+			for (Map.Entry<String, int[]> entry : other.cardStats.entrySet()) {
+				int[] stats = cardStats.computeIfAbsent(entry.getKey(), name -> new int[2]);
+				stats[0] += entry.getValue()[0];
+				stats[1] += entry.getValue()[1];
+			}
+		}
+
+		public String report() {
+			StringBuilder report = new StringBuilder();
+			report.append(String.format("Player one wins: %d (%.1f%%)%n", playerOneWins, percent(playerOneWins, games)));
+			report.append(String.format("Player two wins: %d (%.1f%%)%n", playerTwoWins, percent(playerTwoWins, games)));
+			report.append(String.format("Draws: %d, errors: %d%n", draws, errors));
+			report.append(String.format("Turns per game: %.1f%n", games == 0 ? 0.0 : (double) turns / games));
+
+			// Impact of a card: win rate of the player that played it
+			report.append("Card impact (games played in, win rate when played):\n");
+			for (Map.Entry<String, int[]> entry : cardStats.entrySet()) {
+				int[] stats = entry.getValue();
+				report.append(String.format("  %-22s %6d  %5.1f%%%n", entry.getKey(), stats[0], percent(stats[1], stats[0])));
+			}
+			return report.toString();
+		}
+
+		private static double percent(int part, int whole) {
+			if (whole == 0) return 0.0;
+			return 100.0 * part / whole;
+		}
+
+		public int getGames() {
+			return games;
+		}
+
+		public int getPlayerOneWins() {
+			return playerOneWins;
+		}
+
+		public int getPlayerTwoWins() {
+			return playerTwoWins;
+		}
+
+		public int getDraws() {
+			return draws;
+		}
+
+		public double getTurnsPerGame() {
+			return games == 0 ? 0.0 : (double) turns / games;
+		}
+	}
+}
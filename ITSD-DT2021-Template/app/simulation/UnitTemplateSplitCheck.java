@@ -0,0 +1,106 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import commands.UnitView;
+import structures.basic.Monster;
+import structures.basic.Tile;
+import structures.basic.Unit;
+import utils.BasicObjectBuilders;
+
+/**
+ * Measures what sending units referencing their template saves (see BasicCommands.encodeUnit).
+ * A unit is then encoded without its animations and correction, which the front end gets once per
+ * unit type and session (defineUnitTemplate). One unit is loaded from every unit config file.
+ *
+ * For every unit the template split is checked first: the unit encoded with its template, filled
+ * in from the template definition as the front end does, must equal the unit encoded whole.
+ * Then, per unit type, the bytes of a unit encoded whole and referencing its template are
+ * reported with the bytes of the template definition, and the number of unit commands after which
+ * the definition has paid for itself. Last, the time to encode a unit both ways is compared.
+ *
+ * Usage: simulation.UnitTemplateSplitCheck
+ *
+ */
+public class UnitTemplateSplitCheck {
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+
+	public static void main(String[] args) throws Exception {
+
+		List<Unit> units = new ArrayList<Unit>();
+		Tile tile = new Tile("", 0, 0, 0, 0, 0, 0);
+		int id = 0;
+		for (String file : HeapFootprint.unitConfigFiles()) {
+			Unit unit = BasicObjectBuilders.loadUnit(file, id++, Monster.class);
+			if (unit == null) continue;		// Not loadable, already reported by loadUnit
+			unit.setPositionByTile(tile);
+			units.add(unit);
+		}
+		if (units.isEmpty()) {
+			System.out.println("UnitTemplateSplitCheck: no unit config files found");
+			System.exit(1);
+		}
+
+		int mismatches = 0;
+		long wholeTotal = 0, splitTotal = 0, definitionTotal = 0;
+		System.out.println(String.format("%-48s %8s %8s %10s %10s", "unit config", "whole", "split", "definition", "break even"));
+		for (Unit unit : units) {
+			ObjectNode whole = mapper.valueToTree(UnitView.of(unit));
+			ObjectNode split = mapper.valueToTree(UnitView.ofTemplate(unit));
+			ObjectNode definition = definition(unit);
+
+			ObjectNode filledIn = split.deepCopy();
+			filledIn.remove("template");
+			filledIn.set("animations", definition.get("animations"));
+			filledIn.set("correction", definition.get("correction"));
+			if (unit.getTemplate() == null || !filledIn.equals(whole)) {
+				System.out.println("UnitTemplateSplitCheck: mismatch for " + unit.getTemplate());
+				mismatches++;
+				continue;
+			}
+
+			int wholeBytes = mapper.writeValueAsBytes(whole).length;
+			int splitBytes = mapper.writeValueAsBytes(split).length;
+			int definitionBytes = mapper.writeValueAsBytes(definition).length;
+			wholeTotal += wholeBytes;
+			splitTotal += splitBytes;
+			definitionTotal += definitionBytes;
+			System.out.println(String.format("%-48s %8d %8d %10d %10s", unit.getTemplate(), wholeBytes, splitBytes, definitionBytes,
+					wholeBytes > splitBytes ? String.valueOf((definitionBytes + wholeBytes - splitBytes - 1) / (wholeBytes - splitBytes)) : "never"));
+		}
+		int checked = units.size() - mismatches;
+		if (checked > 0) {
+			System.out.println(String.format("%-48s %8.0f %8.0f %10.0f", "average", (double) wholeTotal / checked,
+					(double) splitTotal / checked, (double) definitionTotal / checked));
+		}
+		System.out.println("UnitTemplateSplitCheck: " + units.size() + " unit types checked, " + mismatches + " mismatches");
+
+		Unit[] all = units.toArray(new Unit[0]);
+		int[] next = new int[2];
+		int calls = Math.max(1000, all.length * 10);
+		System.out.println(Timing.header("whole", "template"));
+		System.out.println(Timing.compare("encode unit",
+				Timing.nanosPerOp(calls, () -> mapper.valueToTree(UnitView.of(all[next[0]++ % all.length])).size()),
+				Timing.nanosPerOp(calls, () -> mapper.valueToTree(UnitView.ofTemplate(all[next[1]++ % all.length])).size())));
+
+		if (mismatches > 0) {
+			System.exit(1);
+		}
+	}
+
+	// The template definition sent once per unit type and session, as BasicCommands.defineUnitTemplateMessage builds it
+	private static ObjectNode definition(Unit unit) {
+		ObjectNode message = mapper.createObjectNode();
+		message.put("messagetype", "defineUnitTemplate");
+		message.put("template", unit.getTemplate());
+		message.set("animations", mapper.valueToTree(unit.getAnimations()));
+		message.set("correction", mapper.valueToTree(unit.getCorrection()));
+		return message;
+	}
+}
@@ -6,21 +6,31 @@ import structures.basic.Board;
 import structures.basic.Card;
 import structures.basic.ComputerPlayer;
 import structures.basic.Deck;
+import structures.basic.DisplayedHand;
 import structures.basic.Hand;
 import structures.basic.HumanPlayer;
 import structures.basic.Monster;
 import structures.basic.Player;
 import structures.basic.Tile;
 import structures.basic.abilities.Ability;
-import structures.basic.abilities.AbilityToUnitLinkage;
+import structures.basic.abilities.AbilityListener;
 import structures.basic.abilities.Call_IDs;
 import utils.BasicObjectBuilders;
 import utils.StaticConfFiles;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 
 import commands.*;
+import utils.GameLog;
 
 
 /**
@@ -39,13 +49,16 @@ public class GameState {
 	private Avatar 			humanAvatar;		// Do we need avatars in gameState? can it not just be in Board? 
 	private Avatar 			computerAvatar;
 	private int			 	turnCount;			// Tracker variable for the current number of turns 
-	private static boolean 	playerDead;			// Boolean variable which is set when either avatar is defeated
+	private boolean 		playerDead;			// Boolean variable which is set when either avatar is defeated
 	private Player 			turnOwner;			// The current turn owner of the game, refered to for certain checks such as having permission to click (the human player should not be able to select anything during the AI turn) 
 
 	private ArrayList<Tile> tileAdjustedRangeContainer;		// Container array of tiles which store tiles to be highlight due to Abilities or anything else that requires distinct highlighting
+	private EnumMap<Call_IDs, List<AbilityListener>> abilityRegistry;	// Abilities of the monsters on the board indexed by the event (Call_ID) they listen for. Maintained on summon and death
 
-	private boolean 		locked;				// User interface lock flag to control how the UI is interacted with
-	private boolean			unitMovingFlag; 	// Unit moving flag to stop unit attacking while moving
+	private volatile boolean locked;			// User interface lock flag to control how the UI is interacted with (read by the AI and game logic threads)
+	private volatile CompletableFuture<Void> unlocked;	// Completed when the user interface lock is released, replaced when it is taken again
+	private volatile boolean unitMovingFlag; 	// Unit moving flag to stop unit attacking while moving
+	private ConcurrentHashMap<Integer, CompletableFuture<Void>> unitMovements;	// Moves the front end has not reported stopped yet, by unit id. Completed by UnitStopped
 
 	private Deck 			deckPlayerOne;		// Player 1 deck		
 	private Deck 			deckPlayerTwo;		// player 2 deck
@@ -53,11 +66,26 @@ public class GameState {
 	/* Debug/two player mode */
 	private boolean 		twoPlayerMode;
 
+	/* Randomness */
+	private final long		seed;				// Seed of this game, replaying a game with the same seed gives the same decks
+	private final SplittableRandom random;		// Random source of this game only (decks, any stochastic AI), never shared between games
+
+	/* Headless mode (simulation without a front end) */
+	private boolean			headless;			// No front end: UI commands are dropped or recorded and nothing waits for animations or UnitStopped
+
+	/* Game logic thread */
+	private Executor		gameLogicExecutor;	// Runs work serially with the session's events (set by GameActor), on the calling thread otherwise
+
+	/* Front end state */
+	private DisplayedHand	displayedHand;		// Cards (and modes) the front end currently shows in the hand positions
+
 
 	/*
 	 * 		GameState methods:
 	 * 		GameState()
 	 * 		getTurnCount()	/ setTurnCount()
+	 * 		whenUnlocked()
+	 * 		unitMoveStarted() / unitMoveStopped()
 	 * 		isPlayerDead()	/ setPlayerDead()
 	 * 		getPlayerOne()	/ getPlayerTwo()
 	 * 		getTurnOwner()	/ setTurnOwner()	/ turnChange()
@@ -67,12 +95,16 @@ public class GameState {
 	 * 		getBoard()
 	 * 		getTileAdjustedContainer()	/ setTileAdjustedContainer()
 	 * 		isTwoPlayerMode() / setTwoPlayerMode() / twoPlayerMode()
+	 * 		isHeadless() / setHeadless()
+	 * 		getGameLogicExecutor() / setGameLogicExecutor()
+	 * 		getSeed() / getRandom()
 	 * 		deselectAllEntities()
 	 * 		giveMana() / emptyMana()
 	 * 		isDeckEmpty()
 	 * 		toCoolDown()
 	 * 		setMonsterCooldown()
 	 * 		setDeckForStart()
+	 *		registerMonsterAbilities()	/ unregisterMonsterAbilities() / getAbilityListeners()
 	 *		checkMonsterAbilityActivation()
 	 *		useAdjustedMonsterRange()
 	 *		computerEnd()
@@ -80,18 +112,33 @@ public class GameState {
 
 	/** Constructor **/
 	public GameState() {
+		this(new SplittableRandom().nextLong(), false);
+	}
+
+	// Simulation constructor: decks are shuffled from the given seed and player one can be a computer player (AI vs AI)
+	public GameState(long seed, boolean computerPlayerOne) {
+
+		/* Random source of this game */
+		this.seed = seed;
+		this.random = new SplittableRandom(seed);
 
 		/* Set attributes */ 
 		turnCount = 1;											// Turn count 
 		playerDead = false;										// Set boolean for checking if game should still be played
 		tileAdjustedRangeContainer = new ArrayList<Tile>(); 	// AdjustedRange container to allow for external factors such as Abilities to affect movement/attack range
+		abilityRegistry = new EnumMap<Call_IDs, List<AbilityListener>>(Call_IDs.class);
+		for (Call_IDs callID : Call_IDs.values()) {
+			// Copy on write: listeners can be added/removed (e.g. a unit dies) while an event is being dispatched
+			abilityRegistry.put(callID, new CopyOnWriteArrayList<AbilityListener>());
+		}
 
 		// Conditional flags
 		locked = false; 				 
+		unlocked = CompletableFuture.completedFuture(null);
 		unitMovingFlag = false; 
-
-		// Initialising ability to unit linkage data to reference whenever loading units. 
-		AbilityToUnitLinkage.initialiseUnitAbilityLinkageData();
+		unitMovements = new ConcurrentHashMap<Integer, CompletableFuture<Void>>();
+		displayedHand = new DisplayedHand();
+		gameLogicExecutor = Runnable::run;
 
 		
 		/* two player mode (comment or uncomment */
@@ -107,12 +154,16 @@ public class GameState {
 			deckPlayerTwo.deckTwo();
 
 			// Instantiate players 								
-			playerOne = new HumanPlayer();
+			if (computerPlayerOne) {
+				playerOne = new ComputerPlayer();
+			} else {
+				playerOne = new HumanPlayer();
+			}
 			playerOne.setDeck(deckPlayerOne);
-			deckPlayerOne.shuffleDeck();
+			deckPlayerOne.shuffleDeck(random.split());		// Each deck gets its own stream so one deck's order never depends on the other
 			playerTwo = new ComputerPlayer();
 			playerTwo.setDeck(deckPlayerTwo);
-			deckPlayerTwo.shuffleDeck();
+			deckPlayerTwo.shuffleDeck(random.split());
 
 			// Set hands
 			Hand handPlayerOne = new Hand();
@@ -134,11 +185,16 @@ public class GameState {
 		humanAvatar = BasicObjectBuilders.loadAvatar(StaticConfFiles.humanAvatar, 0, playerOne, Avatar.class);
 		computerAvatar = BasicObjectBuilders.loadAvatar(StaticConfFiles.aiAvatar, 1, playerTwo, Avatar.class);
 
-		System.out.println("board: " + this.getBoard());
-		System.out.println();
-		System.out.println("human avatar owner : " + this.humanAvatar.getOwner());
-		System.out.println();
-		System.out.println("Computer avatar owner : " + this.computerAvatar.getOwner() );
+		// A computer player one still has the first turn, so its avatar must not start on cooldown
+		if (computerPlayerOne && humanAvatar.getOnCooldown()) {
+			humanAvatar.toggleCooldown();
+		}
+
+		GameLog.info(() -> "board: " + this.getBoard());
+		GameLog.info("");
+		GameLog.info(() -> "human avatar owner : " + this.humanAvatar.getOwner());
+		GameLog.info("");
+		GameLog.info(() -> "Computer avatar owner : " + this.computerAvatar.getOwner() );
 	}
 
 	
@@ -146,19 +202,33 @@ public class GameState {
 	/** User interaction control methods
 	 * Controls how the user can interact with the UI through locking and unlocking 
 	 */
-	public void userinteractionLock() {
-		System.out.println("User Interaction locked.");
+	public synchronized void userinteractionLock() {
+		GameLog.info("User Interaction locked.");
 		locked = true;
+		if (unlocked.isDone()) {
+			unlocked = new CompletableFuture<Void>();
+		}
 	}
 
 	public void userinteractionUnlock() {
-		System.out.println("User Interaction unlocked.");
-		locked = false; 
+		GameLog.info("User Interaction unlocked.");
+		CompletableFuture<Void> released;
+		synchronized (this) {
+			locked = false; 
+			released = unlocked;
+		}
+		// Completed outside the lock, whatever waits for the unlock may continue on this thread
+		released.complete(null);
+	}
+
+	// Completes once the user interface is unlocked (already complete if it is not locked)
+	public CompletableFuture<Void> whenUnlocked() {
+		return unlocked;
 	}
 
 	public boolean userinteractionLocked() {
 		if (locked) {
-			System.out.println("User Interaction is currently locked during action.");
+			GameLog.info("User Interaction is currently locked during action.");
 		}
 		return locked;
 	}
@@ -175,6 +245,27 @@ public class GameState {
 		unitMovingFlag = flag; 
 	}
 
+	// A unit starts moving on the front end, the returned future is completed when UnitStopped arrives for that unit
+	public CompletableFuture<Void> unitMoveStarted(int unitId) {
+		unitMovingFlag = true;
+		CompletableFuture<Void> movement = new CompletableFuture<Void>();
+		CompletableFuture<Void> previous = unitMovements.put(unitId, movement);
+		if (previous != null) {
+			// The front end only moves a unit once at a time, the new move replaces the old one
+			previous.complete(null);
+		}
+		return movement;
+	}
+
+	// The front end reports the unit has stopped (UnitStopped), whatever was chained on its move continues
+	public void unitMoveStopped(int unitId) {
+		CompletableFuture<Void> movement = unitMovements.remove(unitId);
+		unitMovingFlag = !unitMovements.isEmpty();
+		if (movement != null) {
+			movement.complete(null);
+		}
+	}
+
 
 
 	/** Entity selection helper methods **/
@@ -212,11 +303,11 @@ public class GameState {
 		if(getTurnOwner() == playerOne) {	//turncount +1 only when Human player start the new round of game 
 			this.turnCount +=1;
 			playerOne.addMana(this.turnCount);
-			System.out.println("player 1 mana is " + playerOne.getMana());
+			GameLog.info(() -> "player 1 mana is " + playerOne.getMana());
 		}
 		else {
 			playerTwo.addMana(this.turnCount);
-			System.out.println("player 2 mana is " + playerTwo.getMana());
+			GameLog.info(() -> "player 2 mana is " + playerTwo.getMana());
 		}  
 	}
 
@@ -290,17 +381,11 @@ public class GameState {
 	public void endTurnStaticChange() {
 
 		emptyMana(); 				// Empty mana for player who ends the turn
-		GeneralCommandSets.threadSleep();
 		deselectAllEntities();		// Deselect all entities
-		GeneralCommandSets.threadSleep();
 		setMonsterCooldown(true);	// Hard set all monsters on turn enders turn to cooldown
-		GeneralCommandSets.threadSleep();
 		turnChange(); 				// turnOwner exchanged	
-		GeneralCommandSets.threadSleep();
 		giveMana();			 		// Give turnCount mana to the player in the beginning of new turn
-		GeneralCommandSets.threadSleep();
 		setMonsterCooldown(false);
-		GeneralCommandSets.threadSleep();
 
 	}
 
@@ -315,53 +400,36 @@ public class GameState {
 	}
 
 
+	/** Ability registry: add a monster's abilities when it is summoned on the board, remove them when it dies **/
+	public void registerMonsterAbilities(Monster m) {
+		if (m.getMonsterAbility() == null) return;
+		for (Ability ability : m.getMonsterAbility()) {
+			abilityRegistry.get(ability.getCallID()).add(new AbilityListener(m, ability));
+		}
+	}
+	
+	public void unregisterMonsterAbilities(Monster m) {
+		for (List<AbilityListener> listeners : abilityRegistry.values()) {
+			listeners.removeIf(listener -> listener.getMonster() == m);
+		}
+	}
+	
+	// All abilities on the board listening for the event. Read only, iterating it is safe while abilities are executed
+	public List<AbilityListener> getAbilityListeners(Call_IDs callID) {
+		return Collections.unmodifiableList(abilityRegistry.get(callID));
+	}
+	
 	/** Generalised method for finding if any monsters require their ability to be executed.
-	 * 	Called in relevant places
+	 * 	Called in relevant places. Only the abilities registered for the callID are looked at
 	 ***/
 	public boolean checkMonsterAbilityActivation(Call_IDs callID, Monster targetMonster) {
 
 		boolean abilityFound = false; 
 
-		// Loop over all tiles
-		for (Tile tile : this.getBoard().getAllTilesList()) {
-
-			// Container for containing all executable abilities
-			ArrayList<Ability> abilityContainer = new ArrayList<Ability>(2); 
-
-			//Check if a unit is on the tile
-			if (tile.getUnitOnTile() != null) {
-
-				// Check if the unit has abilities
-				if (tile.getUnitOnTile().getMonsterAbility() != null) {
-
-					// Loop over abilities and get executing ones
-					for (Ability ability : tile.getUnitOnTile().getMonsterAbility()) {
-
-						if (ability.getCallID() == callID) {
-							abilityContainer.add(ability);
-							abilityFound = true;
-						}
-					}
-
-					// Execute all contstruction abilities first
-					for (Ability ability : abilityContainer) {
-
-						if (ability.getCallID() == Call_IDs.construction) {
-							ability.execute(targetMonster, this); 
-							abilityContainer.remove(ability);		// Remove this ability to not execute twice
-							System.out.println("Executing ability:" + ability);
-						}
-					}
-
-					// Execute the rest 
-					for (Ability ability : abilityContainer) {
-						ability.execute(targetMonster, this);
-						System.out.println("Executing ability:" + ability);
-					}
-				}
-
-			}
-
+		for (AbilityListener listener : abilityRegistry.get(callID)) {
+			listener.getAbility().execute(targetMonster, this);
+			GameLog.info(() -> "Executing ability:" + listener.getAbility());
+			abilityFound = true;
 		}
 		return abilityFound; 
 	}
@@ -385,6 +453,9 @@ public class GameState {
 
 
 	public boolean isPlayerDead() {
+		// Game is also over once a player's health has dropped to 0
+		if (playerOne != null && playerOne.isDead()) return true;
+		if (playerTwo != null && playerTwo.isDead()) return true;
 		return playerDead;
 	}
 
@@ -445,7 +516,7 @@ public class GameState {
 		playerTwo = c;
 	}
 
-	public static void gameOver() {
+	public void gameOver() {
 		playerDead = true;		
 	}
 
@@ -474,15 +545,15 @@ public class GameState {
 		// Deck instantiations 
 		Deck deckPlayerOne = new Deck(); 
 		deckPlayerOne.deckOne();
-		System.out.println(deckPlayerOne.getCardList().get(0));
+		GameLog.info(() -> String.valueOf(deckPlayerOne.getCardList().get(0)));
 		//			deckPlayerOne.shuffleDeck();
-		System.out.println(deckPlayerOne.getCardList().get(0));
+		GameLog.info(() -> String.valueOf(deckPlayerOne.getCardList().get(0)));
 
 		Deck deckPlayerTwo = new Deck();
 		deckPlayerTwo.deckTwo();
-		System.out.println(deckPlayerTwo.getCardList().get(0));
+		GameLog.info(() -> String.valueOf(deckPlayerTwo.getCardList().get(0)));
 		//			deckPlayerTwo.shuffleDeck();
-		System.out.println(deckPlayerTwo.getCardList().get(0));
+		GameLog.info(() -> String.valueOf(deckPlayerTwo.getCardList().get(0)));
 
 		playerOne.setDeck(deckPlayerOne);
 		playerTwo.setDeck(deckPlayerTwo);
@@ -528,4 +599,47 @@ public class GameState {
 	}
 
 
+	/** Random source methods **/
+
+	public long getSeed() {
+		return seed;
+	}
+
+	// Only to be used by the thread running this game (SplittableRandom is not thread safe)
+	public SplittableRandom getRandom() {
+		return random;
+	}
+
+
+	/** Headless mode methods (used by simulation.HeadlessGame) **/
+
+	public boolean isHeadless() {
+		return headless;
+	}
+
+	public void setHeadless(boolean headless) {
+		this.headless = headless;
+	}
+
+
+	/** Game logic thread methods (used by GameActor) **/
+
+	// Work that changes the game state outside of an event (e.g. the attack of a combined move and attack) runs
+	// on this executor, so it never overlaps with the processing of the session's events
+	public Executor getGameLogicExecutor() {
+		return gameLogicExecutor;
+	}
+
+	public void setGameLogicExecutor(Executor gameLogicExecutor) {
+		this.gameLogicExecutor = gameLogicExecutor;
+	}
+
+
+	/** Front end state methods **/
+
+	public DisplayedHand getDisplayedHand() {
+		return displayedHand;
+	}
+
+
 }
@@ -1,13 +1,25 @@
 package structures.basic;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Queue;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 import commands.BasicCommands;
 import structures.GameState;
 import utils.BasicObjectBuilders;
+import utils.GameLog;
 
 /**
  * 
@@ -33,22 +45,153 @@ public class Board {
 
 	private Monster unitSelected;
 
-	private final int[] rangeH = {0,0,1,-1,1,-1,1,-1};
-	private final int[] rangeW = {1,-1,0,0,-1,1,1,-1};
+	
+	//occupancy index, kept up to date by Tile.addUnit/removeUnit so that lookups by player
+	//do not have to scan the whole board. Tiles are kept in board order (row by row).
+	//Concurrent collections: heartbeats iterate the index on the game logic thread while the
+	//computer player's logic may read it from the AI pool, iterating never throws a
+	//ConcurrentModificationException and sees each tile at most once
+	private static final Comparator<Tile> boardOrder = Comparator.comparingInt(Tile::getTiley).thenComparingInt(Tile::getTilex);
+	private final Map<Player, NavigableSet<Tile>> occupiedTiles;	//all tiles holding a unit (incl. avatar) per player
+	private final Map<Player, Set<Tile>> occupiedTilesViews;		//read only views of the sets above
+	private final Map<Player, Tile> avatarTiles;					//tile holding each player's avatar
+	private final BoardBitboard bitboard;							//occupancy and range masks, one bit per tile
+	private Tile[] tiles;											//all tiles by bitboard index (board order), for the range views
 
 	public Board() {
 		X = 9;
 		Y = 5;
 		this.boardCapacity = X*Y;
 		this.numUnitsOnBoard = 0;
+		this.occupiedTiles = new ConcurrentHashMap<Player, NavigableSet<Tile>>();
+		this.occupiedTilesViews = new ConcurrentHashMap<Player, Set<Tile>>();
+		this.avatarTiles = new ConcurrentHashMap<Player, Tile>();
+		this.bitboard = new BoardBitboard(X, Y);
 		gameBoard = new Tile[Y][X];
 		for (int i = 0; i<Y; i++) {
 			for (int k = 0; k<X; k++) {
 				gameBoard [i][k] = BasicObjectBuilders.loadTile(k, i);
 				gameBoard [i][k].free = true; 	
 				gameBoard[i][k].unitOnTile = null;
+				gameBoard[i][k].board = this;
+			}
+		}
+		this.tiles = this.indexTiles();
+	}
+	
+	private Tile[] indexTiles() {
+		Tile[] indexed = new Tile[bitboard.size()];
+		for (int i = 0; i<Y; i++) {
+			for (int k = 0; k<X; k++) {
+				indexed[bitboard.index(k, i)] = gameBoard[i][k];
 			}
 		}
+		return indexed;
+	}
+	
+	//=====================RANGE VIEWS==================//
+	
+	/**
+	 * Read only list of tiles over one of the bitboard's range tables (see BoardBitboard), which are built once
+	 * per board size. Creating the view copies nothing, so unfiltered range queries need no list building
+	 */
+	private static final class TileListView extends AbstractList<Tile> implements RandomAccess {
+		
+		private final Tile[] tiles;
+		private final int[] indices;
+		
+		TileListView(Tile[] tiles, int[] indices) {
+			this.tiles = tiles;
+			this.indices = indices;
+		}
+		
+		@Override
+		public Tile get(int i) {
+			return tiles[indices[i]];
+		}
+		
+		@Override
+		public int size() {
+			return indices.length;
+		}
+	}
+	
+	/**
+	 * @return read only list of all tiles within a walking distance of range from (xpos, ypos), incl. the tile itself,
+	 * in board order. Occupied tiles are included
+	 */
+	public List<Tile> reachableTilesView(int xpos, int ypos, int range) {
+		return new TileListView(tiles, bitboard.manhattanIndices(xpos, ypos, range));
+	}
+	
+	/**
+	 * @return read only list of all tiles in a square of size range around (xpos, ypos), incl. the tile itself,
+	 * in board order. Occupied tiles are included
+	 */
+	public List<Tile> squareTilesView(int xpos, int ypos, int range) {
+		return new TileListView(tiles, bitboard.squareIndices(xpos, ypos, range));
+	}
+	
+	/**
+	 * @return read only list of the tiles adjacent to the given tile (8 directions), in board order
+	 */
+	public List<Tile> adjTilesView(Tile t) {
+		return new TileListView(tiles, bitboard.adjacentIndices(t.getTilex(), t.getTiley()));
+	}
+	
+	//=====================OCCUPANCY INDEX==================//
+	
+	//called by Tile.addUnit once the unit is on the tile
+	void unitAdded(Tile t) {
+		Monster m = t.getUnitOnTile();
+		Player p = m.getOwner();
+		NavigableSet<Tile> playerTiles = occupiedTiles.computeIfAbsent(p, owner -> {
+			NavigableSet<Tile> tiles = new ConcurrentSkipListSet<Tile>(boardOrder);
+			occupiedTilesViews.put(owner, Collections.unmodifiableSet(tiles));
+			return tiles;
+		});
+		playerTiles.add(t);
+		if (m instanceof Avatar) avatarTiles.put(p, t);
+		bitboard.setOccupied(t.getTilex(), t.getTiley(), p);
+	}
+	
+	//called by Tile.removeUnit once the unit has left the tile
+	void unitRemoved(Tile t) {
+		for (NavigableSet<Tile> playerTiles : occupiedTiles.values()) {
+			playerTiles.remove(t);
+		}
+		avatarTiles.values().remove(t);
+		bitboard.clearOccupied(t.getTilex(), t.getTiley());
+	}
+	
+	public BoardBitboard getBitboard() {
+		return bitboard;
+	}
+	
+	/**
+	 * @param mask
+	 * @return list of the tiles whose bit is set in the bitboard mask, in board order
+	 */
+	public ArrayList<Tile> tilesOf(long mask) {
+		ArrayList<Tile> tileList = new ArrayList<Tile>(Long.bitCount(mask));
+		while (mask != 0L) {
+			int index = Long.numberOfTrailingZeros(mask);
+			mask &= mask - 1;
+			tileList.add(tiles[index]);
+		}
+		return tileList;
+	}
+	
+	/**
+	 * @param Player p
+	 * @return read only view of all tiles holding one of the player's units (incl. avatar), in board order.
+	 * The view is not copied and changes as units are added/removed. Iterating it is safe while units are added/removed
+	 * (on any thread), a tile changed meanwhile may or may not be seen
+	 */
+	public Set<Tile> occupiedTilesView(Player p) {
+		Set<Tile> view = occupiedTilesViews.get(p);
+		if (view == null) return Collections.emptySet();
+		return view;
 	}
 	
 	public int getBoardWidth() {
@@ -86,6 +229,7 @@ public class Board {
 
 	public void setGameBoard(Tile[][] gameBoard) {
 		this.gameBoard = gameBoard;
+		this.tiles = this.indexTiles();
 	}
 
 	public void setUnitSelected(Monster m){
@@ -107,18 +251,11 @@ public class Board {
 	/**
 	 * @param Player objects
 	 * @return it returns a list of tiles where a given Player can summon a standard unit
+	 * (every free tile adjacent to one of the player's units, each tile is listed once)
 	 */
 
 	public ArrayList<Tile> allSummonableTiles(Player p){
-		ArrayList <Tile> tileList = new ArrayList<Tile>();
-		for (int i = 0; i <gameBoard.length; i++) {
-			for (int k =0; k<gameBoard[0].length; k++) {
-				if ((gameBoard[i][k].getUnitOnTile() != null)&& gameBoard[i][k].getUnitOnTile().getOwner()==p) {
-					tileList.addAll(this.calcRange(gameBoard[i][k]));
-				}
-			}
-		}
-		return tileList;
+		return this.tilesOf(bitboard.dilate(bitboard.occupiedBy(p)) & bitboard.free());
 	}
 
 	/**
@@ -129,10 +266,7 @@ public class Board {
 	 */
 	
 	ArrayList<Tile> calcRange(Tile t){
-		ArrayList<Tile> tileRange = this.adjTiles(t);
-		tileRange.removeIf(tile -> !(tile.getFreeStatus()));
-		return tileRange;
-		
+		return this.tilesOf(bitboard.adjacent(t.getTilex(), t.getTiley()) & bitboard.free());
 	}
 	
 	/**
@@ -141,21 +275,7 @@ public class Board {
 	 * all tiles are returned regardless of free status
 	 */
 	public ArrayList<Tile> adjTiles(Tile t){
-		ArrayList<Tile> tileRange = new ArrayList<Tile>();
-		int xPos = t.getTilex();
-		int yPos = t.getTiley();
-
-
-		for (int i = 0; i<rangeH.length; i++) {
-			if (xPos + rangeW[i] <0 || xPos + rangeW[i] > X-1 || yPos + rangeH[i]<0 || yPos + rangeH[i] > Y-1) continue;
-			else {
-				
-					Tile posTile = this.getTile(xPos+rangeW[i], yPos+rangeH[i]);
-					tileRange.add(posTile);	
-				
-			}
-		}
-		return tileRange;
+		return new ArrayList<Tile>(this.adjTilesView(t));
 	}
 
 
@@ -164,13 +284,14 @@ public class Board {
 	 * @return Method returns all tiles where a ENEMY unit is present (excl. avatar)
 	 */
 	public ArrayList<Tile> enemyTile(Player p){
-		ArrayList<Tile> tileRange = new ArrayList<Tile>();
-		for (int i = 0; i <gameBoard.length; i++) {
-			for (int k =0; k<gameBoard[0].length; k++) {
-				if (gameBoard[i][k].getUnitOnTile() != null && gameBoard[i][k].getUnitOnTile().getClass() != Avatar.class  && gameBoard[i][k].getUnitOnTile().getOwner()!=p) {
-					tileRange.add(gameBoard[i][k]);
-				}
-			}	
+		TreeSet<Tile> enemyTiles = new TreeSet<Tile>(boardOrder);
+		for (Map.Entry<Player, NavigableSet<Tile>> owner : occupiedTiles.entrySet()) {
+			if (owner.getKey() != p) enemyTiles.addAll(owner.getValue());
+		}
+		ArrayList<Tile> tileRange = new ArrayList<Tile>(enemyTiles.size());
+		for (Tile t : enemyTiles) {
+			Monster m = t.getUnitOnTile();
+			if (m != null && m.getClass() != Avatar.class) tileRange.add(t);
 		}
 		return tileRange;
 	}
@@ -181,12 +302,9 @@ public class Board {
 	 */
 	public ArrayList<Tile> friendlyTile(Player p) {	
 		ArrayList<Tile> tileRange = new ArrayList<Tile>();
-		for (int i = 0; i <gameBoard.length; i++) {
-			for (int k =0; k<gameBoard[0].length; k++) {
-				if (gameBoard[i][k].getUnitOnTile() != null && gameBoard[i][k].getUnitOnTile().getClass() != Avatar.class && gameBoard[i][k].getUnitOnTile().getOwner()==p) {
-					tileRange.add(gameBoard[i][k]);
-				}
-			}	
+		for (Tile t : this.occupiedTilesView(p)) {
+			Monster m = t.getUnitOnTile();
+			if (m != null && m.getClass() != Avatar.class) tileRange.add(t);
 		}
 		return tileRange;
 	}
@@ -198,16 +316,7 @@ public class Board {
 	 */
 	//3)Method returns player's avatar tile position 
 	public Tile ownAvatarTile (Player p) {
-		Tile avatarTile = null;
-		for (int i = 0; i <gameBoard.length; i++) {
-			for (int k =0; k<gameBoard[0].length; k++) {
-				if (gameBoard[i][k].getUnitOnTile() != null && (gameBoard[i][k].getUnitOnTile() instanceof Avatar) && gameBoard[i][k].getUnitOnTile().getOwner()==p) {
-					avatarTile = gameBoard[i][k];
-				}
-			}	
-		}
-		
-		return avatarTile;
+		return avatarTiles.get(p);
 	}
 
 	/**
@@ -215,16 +324,10 @@ public class Board {
 	 * @return method returns enemy's avatar position as a tile
 	 */
 	public Tile enemyAvatarTile (Player p) {
-		Tile avatarTile = null;
-		for (int i = 0; i <gameBoard.length; i++) {
-			for (int k =0; k<gameBoard[0].length; k++) {
-				if (gameBoard[i][k].getUnitOnTile() != null && (gameBoard[i][k].getUnitOnTile() instanceof Avatar) && gameBoard[i][k].getUnitOnTile().getOwner()!=p) {
-					avatarTile = gameBoard[i][k];
-				}
-			}	
+		for (Map.Entry<Player, Tile> owner : avatarTiles.entrySet()) {
+			if (owner.getKey() != p) return owner.getValue();
 		}
-		
-		return avatarTile;
+		return null;
 	}
 
 	/**
@@ -232,7 +335,7 @@ public class Board {
 	 * @return method returns enemy's avatar position as a tile
 	 */
 	public Tile enemyAvatarTile (Player p, GameState g) { 
-		if (p instanceof HumanPlayer) { 
+		if (p == g.getPlayerOne()) { 
 			int x = g.getComputerAvatar().getPosition().getTilex(); int y =
 			g.getComputerAvatar().getPosition().getTiley(); return this.getTile(x, y); }
 	else { int x = g.getHumanAvatar().getPosition().getTilex(); int y =
@@ -245,12 +348,9 @@ public class Board {
 	 */
 	public ArrayList<Monster> friendlyUnitsWithAvatar(Player p) {	
 		ArrayList<Monster> tileRange = new ArrayList<Monster>();
-		for (int i = 0; i <gameBoard.length; i++) {
-			for (int k =0; k<gameBoard[0].length; k++) {
-				if (gameBoard[i][k].getUnitOnTile() != null && gameBoard[i][k].getUnitOnTile().getOwner()==p) {
-					tileRange.add(gameBoard[i][k].getUnitOnTile());
-				}
-			}	
+		for (Tile t : this.occupiedTilesView(p)) {
+			Monster m = t.getUnitOnTile();
+			if (m != null) tileRange.add(m);
 		}
 		return tileRange;
 	}
@@ -302,7 +402,7 @@ public class Board {
 				ArrayList<Tile> reachTiles = this.adjTiles(current.t);
 				reachTiles.removeIf(tile ->(tile.getFreeStatus()==false && tile.getUnitOnTile().getOwner()!=p));
 				tileList.add(current.t);
-				System.out.println("added tile: " + current.t + "to reach tiles, moves left " + current.moves); 
+				GameLog.info(() -> "added tile: " + current.t + "to reach tiles, moves left " + current.moves); 
 				visited[current.t.getTiley()][current.t.getTilex()][0] = true;
 				for (Tile t : reachTiles) {
 					if (visited[t.getTiley()][t.getTilex()][0] != true) {
@@ -347,11 +447,7 @@ public class Board {
 	 */
 	
 	public ArrayList<Tile> unitMovableTiles (int xpos, int ypos, int moveRange ){
-		Player p = this.getTile(xpos, ypos).getUnitOnTile().getOwner();
-		ArrayList <Tile> tileList = this.reachableTiles(xpos, ypos, moveRange);
-		tileList.removeIf(t -> !(t.getFreeStatus()));
-
-		return tileList;
+		return this.tilesOf(bitboard.manhattan(xpos, ypos, moveRange) & bitboard.free());
 	}
 	
 	
@@ -367,24 +463,7 @@ public class Board {
 
 	
 	public ArrayList<Tile> reachableTiles (int xpos, int ypos, int moveRange){
-		ArrayList<Tile> reachTile = new ArrayList<Tile>();
-
-		for (int i = xpos - moveRange; i <= (xpos + moveRange); i++) {
-
-			for (int j = ypos - moveRange; j <= (ypos + moveRange); j++) {
-
-				// Check if indices are within limits of the board
-				if ( (i <= (this.X - 1) && i >= 0) && (j <= (this.Y - 1) && j >= 0)) { 
-
-					// Check each tile index combination is adds up to the range 
-					// (abs(i -x) is the distance the current index is away from the monster position)
-					if ( (Math.abs(i - xpos) + Math.abs(j - ypos)) <=moveRange) {
-						reachTile.add(this.getTile(i, j));
-					}
-				}
-			}  
-		}
-		return reachTile;
+		return new ArrayList<Tile>(this.reachableTilesView(xpos, ypos, moveRange));
 	}
 	//====================ATTACK RANGE METHOD SECTION=====================//
 
@@ -399,41 +478,30 @@ public class Board {
 	 */
 	
 	public ArrayList<Tile> unitAttackableTiles (int xpos, int ypos, int attackRange, int moveRange ){
+		return this.tilesOf(this.unitAttackableMask(xpos, ypos, attackRange, moveRange));	
+	}
+	
+	/**
+	 * Same as unitAttackableTiles but returned as a bitboard mask (see BoardBitboard), so it can be
+	 * counted (Long.bitCount) or tested for a tile without building a list
+	 */
+	public long unitAttackableMask (int xpos, int ypos, int attackRange, int moveRange ){
 		Player p = this.getTile(xpos, ypos).getUnitOnTile().getOwner();
-		
-		ArrayList<Tile> reachTiles;
-		HashSet <Tile> tileList = new HashSet<Tile>();
+		long enemies = bitboard.occupiedByOthers(p);
 		
 		if (moveRange == 0) {
-			ArrayList<Tile> list = new ArrayList<Tile>(this.calcAttackRange(xpos, ypos, attackRange, p));
-			return list;
+			return bitboard.square(xpos, ypos, attackRange) & enemies;
 		}
 
-		//get a list of all tiles that the unit can reach given their position and move range
+		//all tiles that the unit can reach given their position and move range
 		//this includes both free and occupied tiles
-		reachTiles = this.reachableTiles(xpos, ypos, moveRange);
+		long reach = bitboard.manhattan(xpos, ypos, moveRange);
 
-		//iterate over the list of tiles that can be reached 
-		//if the tile has an enemy unit it is added to the set (no duplicate values)
-		for (Tile t : reachTiles) {
-	
-			if (!(t.getFreeStatus()) && t.getUnitOnTile().getOwner()!=p) tileList.add(t);
-		}
-
-		//remove all occupied tiles (enemy or friendly) from reachable tiles list
-		reachTiles.removeIf(t -> !(t.getFreeStatus()));		
-
-		//the reachable tile list now only contains unoccupied tiles
-		//for each of these unoccupied tiles (that the unit could move to)
-		//the attack range (with that tile as origin) is calculated as a set 
-		//the set is added to the set to returned (no duplicated values)
-		for(Tile t : reachTiles) {
-			
-			HashSet <Tile> attRange = calcAttackRange(t.getTilex(), t.getTiley(), attackRange, p);
-			tileList.addAll(attRange);
-		}	
-		ArrayList<Tile> list = new ArrayList<Tile>(tileList);
-		return list;	
+		//enemies within reach can be attacked, as can any enemy within attack range 
+		//of the unoccupied tiles the unit could move to
+		long attackable = reach | bitboard.squareAround(reach & bitboard.free(), attackRange);
+		
+		return attackable & enemies;	
 	}		  
 
 	/**
@@ -446,26 +514,14 @@ public class Board {
 	 */
 	
 	public HashSet<Tile> calcAttackRange(int xpos, int ypos, int attackRange, Player p){
-		HashSet<Tile> tileList = new HashSet<Tile>();
-
-		for (int i = xpos - attackRange; i <= (xpos + attackRange); i++) {
-
-			for (int j = ypos - attackRange; j <= (ypos + attackRange); j++) {
-
-				
-				// Check if indices are within limits of the board
-				if ( (i <= (this.X - 1) && i >= 0) && (j <= (this.Y - 1) && j >= 0)) { 
-					
-
-					 // This gets all tiles in a square around the centre Monster, up to a width-length of the attack range
-				    if(this.getTile(i, j).getUnitOnTile() != null && this.getTile(i, j).getUnitOnTile().getOwner() != p) {
-						 tileList.add(this.getTile(i, j));
-					}
-					
-				}
-			}
-		}
-		return tileList;
+		return new HashSet<Tile>(this.tilesOf(this.attackRangeMask(xpos, ypos, attackRange, p)));
+	}
+	
+	/**
+	 * Same as calcAttackRange but returned as a bitboard mask (see BoardBitboard)
+	 */
+	public long attackRangeMask(int xpos, int ypos, int attackRange, Player p){
+		return bitboard.square(xpos, ypos, attackRange) & bitboard.occupiedByOthers(p);
 	}
 	//====================accessors methods==========================//
 
@@ -479,14 +535,10 @@ public class Board {
 	public ArrayList<Monster> coolDownCheck (Player p){
 		ArrayList<Monster> monsterList = new ArrayList<Monster>();
 
-		for (int i = 0; i <gameBoard.length; i++) {
-
-			for (int k =0; k<gameBoard[0].length; k++) {
-				
-				if ((gameBoard[i][k].getUnitOnTile() != null)&& gameBoard[i][k].getUnitOnTile().getOnCooldown() && gameBoard[i][k].getUnitOnTile().getOwner()==p) {
-					monsterList.add(this.gameBoard[i][k].getUnitOnTile()); 
-				}
-				 
+		for (Tile t : this.occupiedTilesView(p)) {
+			Monster m = t.getUnitOnTile();
+			if (m != null && m.getOnCooldown()) {
+				monsterList.add(m); 
 			}
 		}
 		return monsterList;
@@ -500,12 +552,9 @@ public class Board {
 	 */
 	public ArrayList<Monster> friendlyUnitList (Player p){
 		ArrayList<Monster> monsterList = new ArrayList<Monster>();
-		for (int i = 0; i <gameBoard.length; i++) {
-			for (int k =0; k<gameBoard[0].length; k++) {
-				if (gameBoard[i][k].getUnitOnTile() != null && gameBoard[i][k].getUnitOnTile().getOwner()==p) 							{
-					monsterList.add(gameBoard[i][k].getUnitOnTile());
-				}
-			}	
+		for (Tile t : this.occupiedTilesView(p)) {
+			Monster m = t.getUnitOnTile();
+			if (m != null) monsterList.add(m);
 		}
 		return monsterList;
 	}
@@ -531,39 +580,11 @@ public class Board {
 	//======= OTHER METHODS======== \\
 	public ArrayList<Tile> unitAllActionableTiles (int xpos, int ypos, int attackRange, int moveRange ){
 		
-		
-		HashSet <Tile> tileList = new HashSet<Tile>();
-		
-		// Get a list of all tiles that the unit can reach given their position and move range
-		ArrayList<Tile> reachTiles = this.reachableTiles(xpos, ypos, moveRange);
-
-		//the reachable tile list now only contains unoccupied tiles
-		//for each of these unoccupied tiles (that the unit could move to)
-		//the attack range (with that tile as origin) is calculated as a set 
-		//the set is added to the set to returned (no duplicated values)
-		for(Tile t : reachTiles) {
-			
-			// Add movement tile
-			tileList.add(t);
+		// All tiles that the unit can reach given their position and move range
+		long reach = bitboard.manhattan(xpos, ypos, moveRange);
 
-			HashSet <Tile> attRange = new HashSet<Tile>();
-			
-			// Find tiles around tile t respective of the units attack range
-			for (int i = t.getTilex() - attackRange; i <= (t.getTilex()+ attackRange); i++) {
-				for (int j = t.getTiley() - attackRange; j <= (t.getTiley() + attackRange); j++) {
-
-					// Check if indices are within limits of the board
-					if ( (i <= (this.X - 1) && i >= 0) && (j <= (this.Y - 1) && j >= 0)) { 
-							tileList.add(this.getTile(i, j));				
-					}
-				}
-			}	
-			
-			tileList.addAll(attRange);
-		}	
-		
-		ArrayList<Tile> list = new ArrayList<Tile>(tileList);
-		return list;	
+		// Plus the tiles around each of those tiles respective of the units attack range
+		return this.tilesOf(reach | bitboard.squareAround(reach, attackRange));	
 	}		
 	
 
@@ -0,0 +1,228 @@
+package structures.basic;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * Bitboard layer used by Board. The board (9 x 5 = 45 tiles) fits in a single long, with tile (x,y)
+ * stored in bit y*width + x. Occupancy per player is kept up to date by Board's occupancy index and the
+ * adjacency and range masks of every tile are computed once per board size (shared by every board of that
+ * size, see RangeTables), so range queries become a few bitwise operations instead of nested loops over
+ * the board.
+ *
+ * The occupancy masks are read by the computer player's logic while the game logic changes them, so they
+ * are changed under the bitboard's lock and can be read from any thread without it.
+ *
+ */
+
+public class BoardBitboard {
+
+	private final int width;
+	private final int height;
+	private final RangeTables tables;		//range masks and tile lists, shared by every board of this size
+
+	private volatile long occupied;							//all tiles holding a unit
+	private final Map<Player, Long> playerOccupancy;		//tiles holding a unit per player
+
+	//range tables per board size, built the first time a board of that size is made
+	private static final Map<Integer, RangeTables> tablesBySize = new ConcurrentHashMap<Integer, RangeTables>();
+	private static final int[] noTiles = new int[0];
+
+
+	public BoardBitboard(int width, int height) {
+		if (width * height > Long.SIZE) throw new IllegalArgumentException("Board too big for a bitboard: " + width + "x" + height);
+
+		this.width = width;
+		this.height = height;
+		this.tables = tablesBySize.computeIfAbsent(width * (Long.SIZE + 1) + height, size -> new RangeTables(width, height));
+
+		this.occupied = 0L;
+		this.playerOccupancy = new ConcurrentHashMap<Player, Long>();
+	}
+
+
+	/**
+	 * Adjacency and range masks of every tile of a board size, and the same ranges as arrays of tile
+	 * indices in board order (for Board's list views). Built once and never changed, so all boards of
+	 * the size share them.
+	 */
+	private static final class RangeTables {
+
+		private final int maxRange;				//largest range that can differ from the whole board
+
+		private final long boardMask;			//all tiles on the board
+		private final long notFirstColumn;		//all tiles except column x = 0
+		private final long notLastColumn;		//all tiles except column x = width-1
+
+		private final long[] adjacentMasks;		//8 surrounding tiles of each tile
+		private final long[][] manhattanMasks;	//[tile][range] tiles within a walking distance (incl. the tile itself)
+		private final long[][] squareMasks;		//[tile][range] tiles within a square around the tile (incl. the tile itself)
+
+		private final int[][] adjacentIndices;		//the masks above as tile indices
+		private final int[][][] manhattanIndices;
+		private final int[][][] squareIndices;
+
+		RangeTables(int width, int height) {
+			this.maxRange = width + height;
+
+			long firstColumn = 0L, lastColumn = 0L;
+			for (int y = 0; y < height; y++) {
+				firstColumn |= 1L << (y * width);
+				lastColumn |= 1L << (y * width + width - 1);
+			}
+			long all = width * height == Long.SIZE ? -1L : (1L << (width * height)) - 1;
+			this.boardMask = all;
+			this.notFirstColumn = all & ~firstColumn;
+			this.notLastColumn = all & ~lastColumn;
+
+			int cells = width * height;
+			this.adjacentMasks = new long[cells];
+			this.manhattanMasks = new long[cells][maxRange + 1];
+			this.squareMasks = new long[cells][maxRange + 1];
+			this.adjacentIndices = new int[cells][];
+			this.manhattanIndices = new int[cells][maxRange + 1][];
+			this.squareIndices = new int[cells][maxRange + 1][];
+
+			for (int index = 0; index < cells; index++) {
+				int x = index % width, y = index / width;
+				for (int r = 0; r <= maxRange; r++) {
+					for (int j = 0; j < height; j++) {
+						for (int i = 0; i < width; i++) {
+							int dx = Math.abs(i - x);
+							int dy = Math.abs(j - y);
+							if (dx + dy <= r) manhattanMasks[index][r] |= 1L << (j * width + i);
+							if (dx <= r && dy <= r) squareMasks[index][r] |= 1L << (j * width + i);
+						}
+					}
+					manhattanIndices[index][r] = indicesOf(manhattanMasks[index][r]);
+					squareIndices[index][r] = indicesOf(squareMasks[index][r]);
+				}
+				adjacentMasks[index] = squareMasks[index][1] & ~(1L << index);
+				adjacentIndices[index] = indicesOf(adjacentMasks[index]);
+			}
+		}
+
+		private static int[] indicesOf(long mask) {
+			int[] indices = new int[Long.bitCount(mask)];
+			for (int k = 0; mask != 0L; k++) {
+				indices[k] = Long.numberOfTrailingZeros(mask);
+				mask &= mask - 1;
+			}
+			return indices;
+		}
+	}
+
+
+	//=====================INDEXING==================//
+
+	public int index(int x, int y) {
+		return y * width + x;
+	}
+
+	public long bit(int x, int y) {
+		return 1L << index(x, y);
+	}
+
+	public int xOf(int index) {
+		return index % width;
+	}
+
+	public int yOf(int index) {
+		return index / width;
+	}
+
+
+	//=====================OCCUPANCY==================//
+
+	synchronized void setOccupied(int x, int y, Player p) {
+		long b = bit(x, y);
+		occupied |= b;
+		playerOccupancy.put(p, occupiedBy(p) | b);
+	}
+
+	synchronized void clearOccupied(int x, int y) {
+		long b = bit(x, y);
+		occupied &= ~b;
+		playerOccupancy.replaceAll((p, mask) -> mask & ~b);
+	}
+
+	public long occupied() {
+		return occupied;
+	}
+
+	public long free() {
+		return tables.boardMask & ~occupied;
+	}
+
+	public long occupiedBy(Player p) {
+		Long mask = playerOccupancy.get(p);
+		if (mask == null) return 0L;
+		return mask;
+	}
+
+	// Tiles holding a unit that is not owned by p
+	public long occupiedByOthers(Player p) {
+		return occupied & ~occupiedBy(p);
+	}
+
+
+	//=====================MASKS==================//
+
+	public long adjacent(int x, int y) {
+		return tables.adjacentMasks[index(x, y)];
+	}
+
+	public long manhattan(int x, int y, int range) {
+		if (range < 0) return 0L;
+		return tables.manhattanMasks[index(x, y)][Math.min(range, tables.maxRange)];
+	}
+
+	public long square(int x, int y, int range) {
+		if (range < 0) return 0L;
+		return tables.squareMasks[index(x, y)][Math.min(range, tables.maxRange)];
+	}
+
+	// The given tiles plus every tile surrounding them (8 directions)
+	public long dilate(long mask) {
+		long row = mask | ((mask << 1) & tables.notFirstColumn) | ((mask >>> 1) & tables.notLastColumn);
+		return (row | (row << width) | (row >>> width)) & tables.boardMask;
+	}
+
+	// Union of the square ranges around every tile in the mask
+	public long squareAround(long mask, int range) {
+		long result = 0L;
+		if (range < 0) return result;
+		long[][] squareMasks = tables.squareMasks;
+		int r = Math.min(range, tables.maxRange);
+		while (mask != 0L) {
+			int index = Long.numberOfTrailingZeros(mask);
+			mask &= mask - 1;
+			result |= squareMasks[index][r];
+		}
+		return result;
+	}
+
+
+	//=====================TILE INDICES==================//
+	//the ranges as tile indices in board order, for Board's list views. The arrays are shared, never change them
+
+	int[] adjacentIndices(int x, int y) {
+		return tables.adjacentIndices[index(x, y)];
+	}
+
+	int[] manhattanIndices(int x, int y, int range) {
+		if (range < 0) return noTiles;
+		return tables.manhattanIndices[index(x, y)][Math.min(range, tables.maxRange)];
+	}
+
+	int[] squareIndices(int x, int y, int range) {
+		if (range < 0) return noTiles;
+		return tables.squareIndices[index(x, y)][Math.min(range, tables.maxRange)];
+	}
+
+	public int size() {
+		return width * height;
+	}
+
+}
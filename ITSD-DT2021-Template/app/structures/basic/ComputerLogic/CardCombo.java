@@ -1,6 +1,7 @@
 package structures.basic.ComputerLogic;
 import structures.basic.*; 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 
 /**
  * 
@@ -40,7 +41,7 @@ public class CardCombo implements Comparable<CardCombo> {
 	
 	
 	public CardCombo() {
-		cardCombo = new HashSet<Card>();
+		cardCombo = new LinkedHashSet<Card>();	// insertion order, so a seeded game always plays the cards in the same order
 	}
 	
 	public HashSet<Card> getCardCombo(){
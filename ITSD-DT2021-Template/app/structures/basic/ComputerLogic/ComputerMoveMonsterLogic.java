@@ -220,12 +220,13 @@ public class ComputerMoveMonsterLogic {
 					Tile currTile = b.getTile(m.getPosition().getTilex(), m.getPosition().getTiley());
 
 					//calculate which enemy tiles are in range from the would be (WB) tile
-					HashSet <Tile> wBAttackable = b.calcAttackRange(targetTile.getTilex(), targetTile.getTiley(), m.getAttackRange(), m.getOwner());
+					//(bitboard masks are used so the tiles only need to be counted, not listed)
+					long wBAttackable = b.attackRangeMask(targetTile.getTilex(), targetTile.getTiley(), m.getAttackRange(), m.getOwner());
 				
 					//get all tiles that this monster could attack from its current tile (with enemies on them)
-					HashSet<Tile> currAttackable = b.calcAttackRange(currTile.getTilex(), currTile.getTiley(), m.getAttackRange(), m.getOwner());
+					long currAttackable = b.attackRangeMask(currTile.getTilex(), currTile.getTiley(), m.getAttackRange(), m.getOwner());
 				
-					int deltaOne =  wBAttackable.size() - currAttackable.size();
+					int deltaOne =  Long.bitCount(wBAttackable) - Long.bitCount(currAttackable);
 					//if deltaOne is pos means that new tile would increase num of enemies attackable
 					
 					//all tiles on the board with an enemy unit on it
@@ -233,16 +234,18 @@ public class ComputerMoveMonsterLogic {
 				
 					int currAttackableByEnemy = 0;
 					int wBAttackableByEnemy = 0;
+					long targetBit = b.getBitboard().bit(targetTile.getTilex(), targetTile.getTiley());
+					long currBit = b.getBitboard().bit(currTile.getTilex(), currTile.getTiley());
 				
 					for (Tile t : enemyTilesOnBoard) {
 						Monster mnstr = t.getUnitOnTile();
 						int x = t.getTilex();
 						int y = t.getTiley();
 
-						ArrayList<Tile> tilesEnemyCanAttack = b.unitAttackableTiles(x, y, mnstr.getAttackRange(), mnstr.getMovesLeft());
+						long tilesEnemyCanAttack = b.unitAttackableMask(x, y, mnstr.getAttackRange(), mnstr.getMovesLeft());
 					
-						if (tilesEnemyCanAttack.contains(targetTile)) wBAttackableByEnemy++;
-						if (tilesEnemyCanAttack.contains(currTile)) currAttackableByEnemy ++;
+						if ((tilesEnemyCanAttack & targetBit) != 0) wBAttackableByEnemy++;
+						if ((tilesEnemyCanAttack & currBit) != 0) currAttackableByEnemy ++;
 					}
 					
 					int deltaTwo =   currAttackableByEnemy - wBAttackableByEnemy;
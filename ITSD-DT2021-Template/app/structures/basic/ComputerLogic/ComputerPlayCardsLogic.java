@@ -4,18 +4,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Set;
 
 import structures.basic.Avatar;
 import structures.basic.Board;
+import structures.basic.BoardBitboard;
 import structures.basic.Card;
 import structures.basic.ComputerPlayer;
 import structures.basic.Hand;
-import structures.basic.Monster;
 import structures.basic.Spell;
 import structures.basic.Tile;
 import structures.basic.abilities.Ability;
+import utils.GameLog;
 
 /**
  * 
@@ -35,8 +36,8 @@ public class ComputerPlayCardsLogic {
 	public ComputerPlayCardsLogic(ComputerPlayer p) {
 		this.player = p;
 		this.hand = p.getHand();
-		System.out.println("===========card logic method============== \nCards in comp player's hand \n");
-		for (Card c : this.hand.getHandList()) System.out.println(c.getCardname() + " manacost " + c.getManacost());
+		GameLog.info("===========card logic method============== \nCards in comp player's hand \n");
+		for (Card c : this.hand.getHandList()) GameLog.info(() -> c.getCardname() + " manacost " + c.getManacost());
 	}
 	
 	/**
@@ -90,11 +91,21 @@ public class ComputerPlayCardsLogic {
 			return cardList;
 		}
 		
+		/**
+		 * @param gameBoard
+		 * @return all combinations of the player's playable cards it can pay for and place on the board
+		 * (used by simulation.CardComboCheck to check the combination algorithm)
+		 */
+		public ArrayList<CardCombo> possibleCombos(Board gameBoard){
+			return this.cardCombos(this.playableCards(), gameBoard);
+		}
+		
 		/**
 		 * 2.
 		 * @param list of card objects
 		 * @return list of all possible playable combinations of cards from the given list
-		 * card permutation algorithm provided at the bottom of this class
+		 * every subset of the list is checked (a hand holds at most 6 cards, so at most 63 subsets)
+		 * card combination algorithm provided at the bottom of this class
 		 */
 		
 		private ArrayList<CardCombo> cardCombos(ArrayList <Card> list, Board gameBoard){
@@ -106,136 +117,74 @@ public class ComputerPlayCardsLogic {
 				return comboList;
 			}
 			//converting playablecards list into an array to an array for ease of indexing
-			Card [] playableCards = new Card [list.size()];
-			for (int i = 0; i<playableCards.length; i++) {
-				playableCards[i] = list.get(i);
-			}
+			Card [] playableCards = list.toArray(new Card [list.size()]);
 			Arrays.sort(playableCards);
 			
-			//System.out.println("=== here is the sorted array====");
+			int n = playableCards.length;
+			int mana = player.getMana();
 			
-			//for (int i = 0; i<playableCards.length; i++) System.out.println(playableCards[i].getCardname());
-			//instantiating a combo object (as an array list of card objects)
-			CardCombo combo = new CardCombo();
+			//number of units that can be summoned on the current board, the same for every combo so only calculated once
+			int placeable = this.summonOrder(gameBoard, n).length;
 			
-			int manaLeft = player.getMana(); //System.out.println( "mana left at the start : " + manaLeft);
+			//a combo is a bitmask over playableCards (bit k set = card k in the combo)
+			//mana cost and tiles needed of a combo are built from the combo without its lowest card, which has a smaller mask
+			int [] manaCost = new int [1 << n];
+			int [] tilesNeeded = new int [1 << n];
 			
-			//iterating over the hand array
-			for (int k = 0; k<playableCards.length; k++) {
-				//System.out.println("==========Considering card " +k +"th  "+ playableCards[k].getCardname() + " =========="
-					//+ "\n mana left: " + manaLeft);
-				
-				if (playableCards[k].getManacost() <= manaLeft) {
-					//System.out.println("adding card "+k+"th to current combo");
-					//adding the card at position kth in list to a combo
-					combo.add(playableCards[k]);
-					//creating variable to track how much mana the player has left after (hypothetically) playing card k
-					manaLeft -= playableCards[k].getManacost(); //System.out.println("mana left after adding card: " + manaLeft);
-				}
+			for (int mask = 1; mask < (1 << n); mask++) {
+				int lowest = Integer.numberOfTrailingZeros(mask);
+				int rest = mask & (mask - 1);
+				manaCost[mask] = manaCost[rest] + playableCards[lowest].getManacost();
+				tilesNeeded[mask] = tilesNeeded[rest] + (this.needsTile(playableCards[lowest]) ? 1 : 0);
 				
-				//if playing card k clears the player's mana
-				//or if the leftover mana is less than the mana cost of the least "expensive" card in the ordered array
-				//no need to try and combine this card with other in the player's hand
-				//list containing card k added to overall comboList
-				//also check if k is the last card in hand
-				//if so this will be a combo on its own and for loop terminates
-				if (manaLeft == 0 || manaLeft < playableCards[playableCards.length-1].getManacost() || k == playableCards.length-1) {
+				//keep every combo the player can pay for and place on the board
+				if (manaCost[mask] <= mana && tilesNeeded[mask] <= placeable) {
+					CardCombo combo = new CardCombo();
+					for (int k = 0; k < n; k++) {
+						if ((mask & (1 << k)) != 0) combo.add(playableCards[k]);
+					}
 					comboList.add(combo);
-					//reference combo is re-assigned a new ArrayList obj (empty)
-					combo = new CardCombo();
-					manaLeft = player.getMana();
-					//move on to k+1 th card in hand
-					//System.out.println("finishing the combo, mana left reset :" + manaLeft);
-					continue;
 				}
-				
-				//if the leftover mana is bigger than the least expensive card in the array
-				//iterate over the array, starting from k+1th to check possible combos
-				
-					for (int i = k+1; i<playableCards.length; i++) {
-						//System.out.println("printing i: " +i + "printin mana left: " + manaLeft);
-						//if the next card's cost clears leftover mana
-						//add card to current combo, add combo to combo list
-						//reset combo and reset mana to player's mana - cost of card k
-						if (playableCards[i].getManacost() == manaLeft) {
-							combo.add(playableCards[i]);
-							comboList.add(combo);
-							combo = new CardCombo();
-							manaLeft -= playableCards[i].getManacost();
-						}
-						//if leftover mana is more than enough to add the next card to the current combo
-						//add card to combo, update leftover mana
-						else if (playableCards[i].getManacost()<manaLeft) {
-							combo.add(playableCards[i]);
-							
-							manaLeft -= playableCards[i].getManacost();
-							//System.out.println("adding card " +i+"th at line 147. ManaLeft : " +manaLeft);
-							//if leftover mana is less than cheapest card no need to check rest of the array
-							if (manaLeft < playableCards[playableCards.length-1].getManacost()) {
-								//System.out.println("breaking");
-								
-								break;
-							}
-						}
-						//if leftover mana is not enough for next card, move on to next card
-						
-						continue;
-					}
-				
 			}
 			
-			comboList.removeIf(c -> !(this.playableCombo(c, gameBoard)));
-			
 			return comboList;
 		}
 		
 		/**
-		 * 2a (helper method to method 
-		 * @param combo = CardCombo object. This object represent a possible card combination 
-		 * it is represented as a set of cards
-		 * @return method returns true if and only if every card in the combination could be summoned on the current board
+		 * 2a (helper method to method 2)
+		 * @param card
+		 * @return true if the card is a monster that has to be summoned on a tile adjacent to a friendly unit
 		 */
-	
-		private boolean playableCombo(CardCombo combo, Board gameBoard) {
-			//number of playable tiles available to computer player
-			//number of tiles adj to a friendly unit
-			int tilesAvailable = gameBoard.allSummonableTiles(player).size();
-			int tilesNeeded = 0;
-			
-			if (tilesAvailable <=0 || combo.getCardCombo().isEmpty()) return false;
-			//count how many cards in the card combo need to be played in a tile adj to a friendly unit
-			//NOTE: need to implement check to see if board still has capacity (max number of units X*Y)
-			for (Card c : combo.getCardCombo()) {
-				if (!(c.playableAnywhere())) tilesNeeded++;
-			}
-			
-			//compare the diff between adj friendly tiles available and needed
-			int delta = tilesAvailable - tilesNeeded;
+		private boolean needsTile(Card c) {
+			return c.getAssociatedClass() != Spell.class && !(c.playableAnywhere());
+		}
+		
+		/**
+		 * 2b (helper method to method 2 and 3)
+		 * @param gameBoard
+		 * @param maxUnits = most units that will be needed
+		 * @return bitboard indices (see BoardBitboard) of the tiles the player would summon up to maxUnits units on, one
+		 * after the other, always on the first summonable tile in board order. Every summoned unit can make new tiles
+		 * adjacent to a friendly unit available, this is worked out on copies of the occupancy masks so the board
+		 * itself is never changed (the computer logic runs on the AI pool, not the game logic thread)
+		 */
+		private int[] summonOrder(Board gameBoard, int maxUnits) {
+			BoardBitboard bitboard = gameBoard.getBitboard();
+			long own = bitboard.occupiedBy(player);
+			long free = bitboard.free() & ~own;
 			
-			//if diff = 0 or positive then terminate yielding true
-			if (delta >= 0) return true;
-			//else, place simulate placing dummy unit to tiles in all summonable tiles list in order
-			//if addition of a dummy results in pos delta terminate yielding true
-			else {
-				Monster dummy = new Monster(); 
-				dummy.setOwner(player);
-				int i =0;
-				//while the diff remains negative AND there are still tiles to test in summonable tiles
-				//loops places dummy monster on tile and recalculates delta
-				while (delta < 0 && i< gameBoard.allSummonableTiles(player).size()) {
-					gameBoard.allSummonableTiles(player).get(i).addUnit(dummy);
-					delta = gameBoard.allSummonableTiles(player).size() - tilesNeeded;
-					i++;
-				}
-				//remove dummy unit from board 
-				if (dummy.getPosition() != null) {
-					Tile t = gameBoard.getTile(dummy.getPosition().getTilex(), dummy.getPosition().getTiley());
-					t.removeUnit();
-				}
-				//end of else condition, re-check delta to see if simulated placing of friendly units made combination payable
-				if (delta >= 0) return true;
-				else return false;
+			int[] order = new int[maxUnits];
+			int placed = 0;
+			while (placed < maxUnits) {
+				long summonable = bitboard.dilate(own) & free;
+				if (summonable == 0L) break;
+				
+				long first = Long.lowestOneBit(summonable);
+				order[placed++] = Long.numberOfTrailingZeros(first);
+				own |= first;
+				free &= ~first;
 			}
+			return Arrays.copyOf(order, placed);
 		}	
 		
 		/**
@@ -247,48 +196,31 @@ public class ComputerPlayCardsLogic {
 		 */
 		
 		private HashMap <Tile, Card> matchCardToTile(CardCombo combo, Board gameBoard){
-			HashMap <Tile, Card> map = new HashMap<Tile, Card>();
-			
-			ArrayList<Tile> possTileList = gameBoard.allSummonableTiles(player);
+			HashMap <Tile, Card> map = new LinkedHashMap<Tile, Card>();	// insertion order, cards are played in the order they were matched
 			
 			ArrayList<Card> cardList = new ArrayList<Card>(combo.getCardCombo());
-			ArrayList<Spell> spellList = new ArrayList<Spell>();
+			ArrayList<Card> spellList = new ArrayList<Card>();
 			ArrayList<Card> monsterList = new ArrayList<Card>();
 		
 			
 			//handling monster card tile allocations
 			for (Card c : cardList) {
-				if (c.getClass() == Spell.class) spellList.add((Spell)c);
+				if (c.getAssociatedClass() == Spell.class) spellList.add(c);
 				else monsterList.add(c);
 			}
 			
-			if (monsterList.size() <= possTileList.size()) {
-			
-				Iterator <Card> itCard = monsterList.iterator();
-				Iterator <Tile> itTile = possTileList.iterator();
-				
-				while (itCard.hasNext() && itTile.hasNext()) {
-					map.put(itTile.next(), itCard.next());
-				}
-				
-			}
-			
-			else {
-				Monster dummy = new Monster();
-				dummy.setOwner(player);
-				int i =0;
-				
-				do {
-					possTileList.get(i).addUnit(dummy);
-					possTileList = gameBoard.allSummonableTiles(player);
-					i++;
-				}while (monsterList.size() > possTileList.size() );	
-				
+			//monsters are summoned one after the other, so each is matched to a tile that is summonable once the
+			//monsters before it are on the board (worked out without changing the board, see summonOrder)
+			BoardBitboard bitboard = gameBoard.getBitboard();
+			int[] order = this.summonOrder(gameBoard, monsterList.size());
+			for (int k = 0; k < order.length; k++) {
+				Tile tile = gameBoard.getTile(bitboard.xOf(order[k]), bitboard.yOf(order[k]));
+				map.put(tile, monsterList.get(k));
 			}
 			
 			//handling spell cards tile allocation
 		
-			for (Spell spell : spellList) {
+			for (Card spell : spellList) {
 				Tile tilez = null;
 				ArrayList<Ability> abilityList = spell.getAbilityList();
 				Ability a = abilityList.get(0);
@@ -303,13 +235,11 @@ public class ComputerPlayCardsLogic {
 				}
 				
 				else if (a.getTargetType() != Avatar.class) {
-					if (a.targetEnemy()) {
-						tilez = gameBoard.enemyTile(player).get(0);
-						if (tilez != null) map.put(tilez, spell);
-					}
-					else {
-						tilez = gameBoard.friendlyTile(player).get(0);
-						if (tilez != null) map.put(tilez, spell);
+					//no target on the board, the spell is not played
+					ArrayList<Tile> targets = a.targetEnemy() ? gameBoard.enemyTile(player) : gameBoard.friendlyTile(player);
+					if (!targets.isEmpty()) {
+						tilez = targets.get(0);
+						map.put(tilez, spell);
 					}
 				}
 
@@ -363,33 +293,18 @@ public class ComputerPlayCardsLogic {
 				return compInstructions;
 			}
 			
-			//!!NOTE!!!//need to update this if we are to keep it!
 			/*****
-			//card(s) permutations algorithm
+			//card combination algorithm
 			
-			Let comboList be a list of card combinations
-			Let combo be a list of cards 
-			Let hand be an array of cards currently in player's hand
-			1)set k = 0
-			2)while k < hand length repeat:
-				3)set card = hand[k]
-				4)add card to current combo list
-				5)update mana left to pay for card[k]
-				6)if mana left = 0 OR mana left < mana cost of cheapest card OR if card is last card in hand
-					6.1)add this combo to list of combos
-				7)else set i = k+1
-				8)while i < length of hand repeat:
-					8.1) if mana cost of i = mana left
-						8.1.1) add i to current combo
-						8.1.2) add current combo to combo list
-						8.1.3) reset mana left to total mana - k mana cost
-						8.1.4) reset combo (new empty combo) and continue
-					8.2) else if mana cost of i is < mana left
-						8.2.1) add i to current combo
-						8.2.2) update mana left and continue
-						8.2.3) if new left mana value is less than last card in hand break
-					8.3) else continue 
-			9) terminate yielding list of combos
+			Let cards be the array of playable cards (mana cost <= player's mana), n its length
+			Let a combo be a bitmask over cards, bit k set if cards[k] is in the combo
+			1)set placeable = number of units that can be summoned one after the other on the board
+			2)for every mask from 1 to 2^n - 1:
+				3)set lowest = lowest card in mask, rest = mask without lowest (rest < mask so already calculated)
+				4)mana cost of mask = mana cost of rest + mana cost of lowest
+				5)tiles needed of mask = tiles needed of rest + 1 if lowest is a monster that is not playable anywhere
+				6)if mana cost <= player's mana AND tiles needed <= placeable add the combo to the list of combos
+			7) terminate yielding list of combos
 
 			
 			****/
@@ -23,9 +23,9 @@ public class MonsterTargetOtpion implements Comparable <MonsterTargetOtpion> {
 	//score of the overall obj, set to equal the highest scoring tile in the list
 	int score;
 	//scoring criteria for targets, made static as they should be shared (the same) for all the instances of this class
-	private static int killMod = 2;
-	private static int isAvatar = 2;
-	private static int hasSpecialAbility = 1;
+	private static final int killMod = 2;
+	private static final int isAvatar = 2;
+	private static final int hasSpecialAbility = 1;
 	
 	public MonsterTargetOtpion(Monster m, Board b){
 		this.m = m;
@@ -2,6 +2,7 @@ package structures.basic;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.SplittableRandom;
 
 import utils.BasicObjectBuilders;
 import utils.StaticConfFiles;
@@ -119,9 +120,11 @@ public class Deck{//class used to create and manage player and ai decks
 		cardList.remove(i);
 	}
 
-	// Shuffles deck
-	public void shuffleDeck() {
-		Collections.shuffle(cardList);
+	// Shuffles deck with the random source of a game (Fisher-Yates), the same seed always gives the same order
+	public void shuffleDeck(SplittableRandom random) {
+		for (int i = cardList.size() - 1; i > 0; i--) {
+			Collections.swap(cardList, i, random.nextInt(i + 1));
+		}
 	}
 
 	//getters and setters
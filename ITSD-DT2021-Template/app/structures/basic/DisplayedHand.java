@@ -0,0 +1,44 @@
+package structures.basic;
+
+/**
+ * What the front end currently shows in each hand position: the card drawn there (null for an
+ * empty position) and its visualisation mode. It belongs to the UI of a session rather than to a
+ * player, as the hand positions show the turn owner's hand (both players' in two player mode).
+ *
+ * Used by GeneralCommandSets.drawCardsInHand to only send the positions that changed.
+ *
+ */
+public class DisplayedHand {
+
+	public static final int positions = 6;	// Hand positions in the front end
+
+	private final Card[] cards = new Card[positions];
+	private final int[] modes = new int[positions];
+
+
+	// Record that the front end draws card in position with the given mode
+	public void recordDrawn(int position, Card card, int mode) {
+		if (position < 0 || position >= positions) return;
+		cards[position] = card;
+		modes[position] = mode;
+	}
+
+	// Record that the front end deleted the card in position
+	public void recordDeleted(int position) {
+		if (position < 0 || position >= positions) return;
+		cards[position] = null;
+		modes[position] = 0;
+	}
+
+	// Whether position already shows card with the given mode (null card: whether position is empty)
+	public boolean shows(int position, Card card, int mode) {
+		if (position < 0 || position >= positions) return false;
+		if (card == null) return cards[position] == null;
+		return cards[position] == card && modes[position] == mode;
+	}
+
+	public Card getCard(int position) {
+		if (position < 0 || position >= positions) return null;
+		return cards[position];
+	}
+}
@@ -34,6 +34,10 @@ public class Monster extends Unit{
 	protected EffectAnimation	abAnimation;		// EffectAnimation reference for abilities requiring effects that 
 													// are not utilised during execution (e.g. Ranged attacks)
 	
+	// UI info
+	protected int				displayedHP = -1;		// Last health value sent to the UI (-1 if never sent)
+	protected int				displayedAttack = -1;	// Last attack value sent to the UI (-1 if never sent)
+	
 	/* Constructor(s) */
 	
 	// Default constructor for JSON
@@ -298,6 +302,25 @@ public class Monster extends Unit{
 	}
 	
 	
+	// Stats shown in the UI, used by the Heartbeat to only send the stats that changed
+	
+	public boolean hpChanged() {
+		return HP != displayedHP;
+	}
+	
+	public boolean attackChanged() {
+		return attackValue != displayedAttack;
+	}
+	
+	public void recordDisplayedHP(int h) {
+		this.displayedHP = h;
+	}
+	
+	public void recordDisplayedAttack(int a) {
+		this.displayedAttack = a;
+	}
+	
+	
 	// Provoked status and range impairment
 	
 	public boolean isProvoked() {
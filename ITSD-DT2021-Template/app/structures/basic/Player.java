@@ -1,7 +1,5 @@
 package structures.basic;
 
-import structures.GameState;
-
 /**
  * A basic representation of of the Player. A player
  * has health and mana.
@@ -16,6 +14,10 @@ public class Player {
 	protected Hand hand;
 	protected Deck deck;
 	
+	// Last values sent to the UI (-1 if never sent), used by the Heartbeat to only send the stats that changed
+	protected int displayedHealth = -1;
+	protected int displayedMana = -1;
+	
 
 	public Player() {
 		this.health = 20;
@@ -80,7 +82,11 @@ public class Player {
 	
 	public void setHealth(int health) {
 		this.health = health;
-		if (this.health <= 0) GameState.gameOver();  
+	}
+	
+	// A player whose health reaches 0 has lost, checked by GameState.isPlayerDead()
+	public boolean isDead() {
+		return health <= 0;
 	}
 	
 	public int getMana() {
@@ -91,6 +97,22 @@ public class Player {
 		this.mana = mana;
 	}
 	
+	public boolean healthChanged() {
+		return health != displayedHealth;
+	}
+	
+	public boolean manaChanged() {
+		return mana != displayedMana;
+	}
+	
+	public void recordDisplayedHealth(int h) {
+		this.displayedHealth = h;
+	}
+	
+	public void recordDisplayedMana(int m) {
+		this.displayedMana = m;
+	}
+	
 	public Deck getDeck() {
 		return deck;
 	}
@@ -1,12 +1,14 @@
 package structures.basic;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import utils.ConfigRegistry;
 
 /**
  * A basic representation of a tile on the game board. Tiles have both a pixel position
@@ -33,6 +35,20 @@ public class Tile implements Comparable<Tile>{
 	boolean free;
 	Monster unitOnTile; 	
 	int score;
+	
+	// Cache of the encoded drawTile message per visualisation mode (0 normal, 1 highlighted, 2 red)
+	// The unit on the tile is not part of the message (only the commands.TileView fields are), so it stays valid while units come and go.
+	// Cleared whenever the serialised state of the tile changes
+	@JsonIgnore
+	private ObjectNode[] drawTileMessages = new ObjectNode[3];
+	
+	// Visualisation mode last sent to the front end for this tile, -1 if it has not been drawn yet
+	@JsonIgnore
+	private int displayedMode = -1;
+	
+	// Board this tile belongs to, notified when a unit is added/removed so it can keep its occupancy index
+	@JsonIgnore
+	Board board;
 
 	public Tile() {}
 	
@@ -71,42 +87,49 @@ public class Tile implements Comparable<Tile>{
 	}
 	public void setTileTextures(List<String> tileTextures) {
 		this.tileTextures = tileTextures;
+		clearCachedDrawTileMessages();
 	}
 	public int getXpos() {
 		return xpos;
 	}
 	public void setXpos(int xpos) {
 		this.xpos = xpos;
+		clearCachedDrawTileMessages();
 	}
 	public int getYpos() {
 		return ypos;
 	}
 	public void setYpos(int ypos) {
 		this.ypos = ypos;
+		clearCachedDrawTileMessages();
 	}
 	public int getWidth() {
 		return width;
 	}
 	public void setWidth(int width) {
 		this.width = width;
+		clearCachedDrawTileMessages();
 	}
 	public int getHeight() {
 		return height;
 	}
 	public void setHeight(int height) {
 		this.height = height;
+		clearCachedDrawTileMessages();
 	}
 	public int getTilex() {
 		return tilex;
 	}
 	public void setTilex(int tilex) {
 		this.tilex = tilex;
+		clearCachedDrawTileMessages();
 	}
 	public int getTiley() {
 		return tiley;
 	}
 	public void setTiley(int tiley) {
 		this.tiley = tiley;
+		clearCachedDrawTileMessages();
 	}
 	public boolean getFreeStatus() {
 		return free; 
@@ -132,6 +155,7 @@ public class Tile implements Comparable<Tile>{
 			this.free = false;
 
 			m.setPositionByTile(this);
+			if (board != null) board.unitAdded(this);
 			
 			return true;			
 		}
@@ -143,10 +167,41 @@ public class Tile implements Comparable<Tile>{
 			this.unitOnTile.setPosition(null);
 			this.free = true;
 			this.unitOnTile = null;
+			if (board != null) board.unitRemoved(this);
 			return true;
 		}
 	}
 	
+	/** Encoded message cache used by BasicCommands.drawTile **/
+	
+	// Returns the cached drawTile message for this mode, null if there is none 
+	public ObjectNode cachedDrawTileMessage(int mode) {
+		if (mode < 0 || mode >= drawTileMessages.length) return null;
+		return drawTileMessages[mode];
+	}
+	
+	// Caches a drawTile message
+	public void cacheDrawTileMessage(int mode, ObjectNode message) {
+		if (mode < 0 || mode >= drawTileMessages.length) return;
+		drawTileMessages[mode] = message;
+	}
+	
+	/** Mode shown in the front end, used by GeneralCommandSets to only redraw tiles whose mode changes **/
+	
+	public void recordDisplayedMode(int mode) {
+		this.displayedMode = mode;
+	}
+	
+	public boolean displaysMode(int mode) {
+		return displayedMode == mode;
+	}
+	
+	private void clearCachedDrawTileMessages() {
+		for (int i = 0; i < drawTileMessages.length; i++) {
+			drawTileMessages[i] = null;
+		}
+	}
+	
 	@Override
 	public int compareTo(Tile o) {
 		if (this.getScore() > o.getScore()) return 1;
@@ -174,7 +229,7 @@ public class Tile implements Comparable<Tile>{
 	public static Tile constructTile(String configFile) {
 		
 		try {
-			Tile tile = mapper.readValue(new File(configFile), Tile.class);
+			Tile tile = ConfigRegistry.load(configFile, Tile.class);
 			return tile;
 		} catch (Exception e) {
 			e.printStackTrace();
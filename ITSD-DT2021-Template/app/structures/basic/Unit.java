@@ -25,6 +25,8 @@ public class Unit {
 	Position position;
 	UnitAnimationSet animations;
 	ImageCorrection correction;
+	@JsonIgnore
+	String template;	// Config file the unit was loaded from, identifies its (shared) animations and correction
 
 	public Unit() {}
 	
@@ -96,6 +98,16 @@ public class Unit {
 	public void setAnimations(UnitAnimationSet animations) {
 		this.animations = animations;
 	}
+
+	@JsonIgnore
+	public String getTemplate() {
+		return template;
+	}
+
+	@JsonIgnore
+	public void setTemplate(String template) {
+		this.template = template;
+	}
 	
 	/**
 	 * This command sets the position of the Unit to a specified
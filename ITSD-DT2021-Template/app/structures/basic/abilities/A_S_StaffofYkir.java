@@ -4,6 +4,7 @@ import structures.GameState;
 import structures.basic.Avatar;
 import structures.basic.EffectAnimation;
 import structures.basic.Monster;
+import utils.GameLog;
 
 public class A_S_StaffofYkir implements Ability {
 
@@ -34,14 +35,14 @@ public class A_S_StaffofYkir implements Ability {
 		
 		// Add two attack to avatar (done in buff())
 		if (targetMonster instanceof Avatar) {
-			System.out.println("Avatar attack: " + targetMonster.getAttackValue());
+			GameLog.info(() -> "Avatar attack: " + targetMonster.getAttackValue());
 			targetMonster.buffAttack(additionalAttackValue);
-			System.out.println("Avatar attack after: " + targetMonster.getAttackValue());
+			GameLog.info(() -> "Avatar attack after: " + targetMonster.getAttackValue());
 
 			return true; 
 		}
 		else {
-			System.out.println("Not instance of avatar");
+			GameLog.info("Not instance of avatar");
 			return false; 
 		}
 	}
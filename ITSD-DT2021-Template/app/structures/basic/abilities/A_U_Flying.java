@@ -3,6 +3,7 @@ package structures.basic.abilities;
 import structures.GameState;
 import structures.basic.EffectAnimation;
 import structures.basic.Monster;
+import utils.GameLog;
 
 public class A_U_Flying implements Ability {
 
@@ -35,7 +36,7 @@ public class A_U_Flying implements Ability {
 		int boardLength = gameState.getBoard().getBoardLength(); 
 		
 		// Set max moves to board length and width (gameState.getBoard().get....)
-		System.out.print("In windshrike ability setup");
+		GameLog.info("In windshrike ability setup");
 		targetMonster.setMovesMax(boardWidth*boardLength);
 
 		return true;
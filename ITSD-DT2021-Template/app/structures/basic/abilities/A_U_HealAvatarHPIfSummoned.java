@@ -4,6 +4,7 @@ import structures.GameState;
 import structures.basic.Avatar;
 import structures.basic.EffectAnimation;
 import structures.basic.Monster;
+import utils.GameLog;
 
 public class A_U_HealAvatarHPIfSummoned implements Ability {
 
@@ -33,12 +34,12 @@ public class A_U_HealAvatarHPIfSummoned implements Ability {
 		
 		// Heal the Avatar 3 HP
 		if (targetMonster.getClass() == targetType) {
-			System.out.println("Avatar HP:" + targetMonster.getHP());
+			GameLog.info(() -> "Avatar HP:" + targetMonster.getHP());
 			targetMonster.heal(3);
-			System.out.println("Avatar HP:" + targetMonster.getHP());
+			GameLog.info(() -> "Avatar HP:" + targetMonster.getHP());
 			return true; 
 		}
-		System.out.println("did not go in for avatar");
+		GameLog.info("did not go in for avatar");
 
 		return false; 
 	}
@@ -1,11 +1,13 @@
 package structures.basic.abilities;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import structures.GameState;
 import structures.basic.EffectAnimation;
 import structures.basic.Monster;
 import structures.basic.Tile;
+import utils.GameLog;
 
 public class A_U_Provoke implements Ability{
 	// Ability attributes 
@@ -79,7 +81,7 @@ public class A_U_Provoke implements Ability{
 		int selectedUnitX = targetMonster.getPosition().getTilex(); 
 		int selectedUnitY = targetMonster.getPosition().getTiley(); 		
 		
-		System.out.println("Selected monster: " + selectedUnitX + "," + selectedUnitY);
+		GameLog.info(() -> "Selected monster: " + selectedUnitX + "," + selectedUnitY);
  
 		// All actionable tiles
 		ArrayList<Tile> actionableTiles = gameState.getBoard().unitAllActionableTiles(selectedUnitX, selectedUnitY, targetMonster.getMovesLeft(), targetMonster.getAttackRange());
@@ -166,7 +168,7 @@ public class A_U_Provoke implements Ability{
 		
 		// debug
 		for (ClassifiedTile ct : classifiedActionableTiles) {
-			System.out.println("Tile: " + ct.getTile().getTilex() + "," + ct.getTile().getTiley() + "Type: " + ct.getType());
+			GameLog.info(() -> "Tile: " + ct.getTile().getTilex() + "," + ct.getTile().getTiley() + "Type: " + ct.getType());
 		}
 		
 		
@@ -203,7 +205,7 @@ public class A_U_Provoke implements Ability{
 					if (ct.getTile().getUnitOnTile().getOwner() == gameState.getEnemyPlayer()) {
 					
 						// Generate adjacent tiles to overlay
-						ArrayList<Tile> adjacentTiles = gameState.getBoard().adjTiles(ct.getTile()); 
+						List<Tile> adjacentTiles = gameState.getBoard().adjTilesView(ct.getTile()); 
 
 						// Relate all adjacent tiles with the classified tiles (find overlap)
 						for (ClassifiedTile ct2 : classifiedActionableTiles) {
@@ -262,7 +264,7 @@ public class A_U_Provoke implements Ability{
 //		displayTiles.removeIf(tile -> (tile == targetMonster.getPosition().getTile(gameState.getBoard())));
 		displayTiles.remove(targetMonster.getPosition().getTile(gameState.getBoard()));
 		
-		System.out.println("MovesLeft provke: " + targetMonster.getMovesLeft());
+		GameLog.info(() -> "MovesLeft provke: " + targetMonster.getMovesLeft());
 		
 		// Set output
 		gameState.setTileAdjustedRangeContainer(displayTiles);
@@ -351,10 +353,10 @@ public class A_U_Provoke implements Ability{
 	
 	public void printTiles(String desc, ArrayList<Tile> tiles) {
 		
-		System.out.println(desc + "\n");
+		GameLog.info(() -> desc + "\n");
 		
 		for (Tile t : tiles) {
-			System.out.println(t.getTilex() + "," + t.getTiley());
+			GameLog.info(() -> t.getTilex() + "," + t.getTiley());
 		}
 	}
 }
\ No newline at end of file
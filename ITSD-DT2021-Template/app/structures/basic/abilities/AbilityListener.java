@@ -0,0 +1,26 @@
+package structures.basic.abilities;
+
+import structures.basic.Monster;
+
+/** Pairing of a Monster on the board with one of its abilities. 
+ *  Stored in the GameState ability registry under the ability's Call_ID so that 
+ *  only the abilities listening for an event are looked at when the event happens **/
+
+public class AbilityListener {
+
+	private final Monster monster; 		// Monster that holds the ability
+	private final Ability ability;		// Ability to be executed when the event happens
+	
+	public AbilityListener(Monster monster, Ability ability) {
+		this.monster = monster; 
+		this.ability = ability;
+	}
+	
+	public Monster getMonster() {
+		return monster;
+	}
+	
+	public Ability getAbility() {
+		return ability;
+	}
+}
@@ -1,10 +0,0 @@
-package structures.basic;
-
-public class test {
-	public static void main( String[] args) {
-//	Deck testDeck= new Deck();
-//	testDeck.deckOne();
-//	testDeck.pod(testDeck);
-	}
-
-}
@@ -0,0 +1,131 @@
+package utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application wide pool that runs the computer player's turns. All sessions share it, so the
+ * number of threads stays bounded however many games are played at once.
+ *
+ * Tasks that do not fit in the queue are rejected with a RejectedExecutionException (an async
+ * CompletableFuture stage on this pool then completes exceptionally). They are never run by the
+ * submitting thread, which may be the animation scheduler or another session's game logic thread.
+ * The metrics (queue depth, active tasks, completed and rejected tasks, time spent running tasks)
+ * can be read at any time.
+ *
+ */
+public class AIExecutor {
+
+	private static final int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+	private static final int queueSize = 256;		// Tasks that can wait for a thread before new ones are rejected
+
+	private static final AtomicInteger threadCount = new AtomicInteger();	// Used to name the threads
+	private static final AtomicLong rejectedTasks = new AtomicLong();		// Tasks rejected as the queue was full
+	private static final AtomicLong busyNanos = new AtomicLong();			// Total time spent running tasks
+
+	private static final ThreadPoolExecutor pool = new InstrumentedPool();
+
+
+	/** Submitting **/
+
+	// Throws RejectedExecutionException when the queue is full
+	public static void execute(Runnable task) {
+		pool.execute(task);
+	}
+
+	// For CompletableFuture ...Async methods
+	public static Executor executor() {
+		return pool;
+	}
+
+
+	/** Metrics **/
+
+	// Tasks waiting for a thread
+	public static int getQueueDepth() {
+		return pool.getQueue().size();
+	}
+
+	// Tasks being run right now
+	public static int getActiveTasks() {
+		return pool.getActiveCount();
+	}
+
+	public static long getCompletedTasks() {
+		return pool.getCompletedTaskCount();
+	}
+
+	public static long getRejectedTasks() {
+		return rejectedTasks.get();
+	}
+
+	public static int getLargestPoolSize() {
+		return pool.getLargestPoolSize();
+	}
+
+	// Average time a task ran for, in ms
+	public static double getAverageTaskTime() {
+		long completed = pool.getCompletedTaskCount();
+		if (completed == 0) return 0.0;
+		return busyNanos.get() / 1e6 / completed;
+	}
+
+	public static String metrics() {
+		return String.format("AIExecutor: %d/%d threads active, %d queued, %d completed (%.1f ms avg), %d rejected, %d max threads",
+				getActiveTasks(), poolSize, getQueueDepth(), getCompletedTasks(), getAverageTaskTime(), getRejectedTasks(), getLargestPoolSize());
+	}
+
+
+	/** Pool that records how long its tasks run **/
+	private static class InstrumentedPool extends ThreadPoolExecutor {
+
+		private final ThreadLocal<Long> taskStart = new ThreadLocal<Long>();
+
+		InstrumentedPool() {
+			super(poolSize, poolSize, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueSize),
+					runnable -> {
+						Thread thread = new Thread(runnable, "ai-" + threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					},
+					new CountAndReject());
+			// Idle threads are not kept around between games
+			allowCoreThreadTimeOut(true);
+		}
+
+		@Override
+		protected void beforeExecute(Thread thread, Runnable task) {
+			super.beforeExecute(thread, task);
+			taskStart.set(System.nanoTime());
+		}
+
+		@Override
+		protected void afterExecute(Runnable task, Throwable t) {
+			super.afterExecute(task, t);
+			Long start = taskStart.get();
+			if (start != null) {
+				busyNanos.addAndGet(System.nanoTime() - start);
+				taskStart.remove();
+			}
+			if (t != null) {
+				t.printStackTrace();
+			}
+		}
+	}
+
+	// Counts the rejected tasks, then fails them
+	private static class CountAndReject implements RejectedExecutionHandler {
+
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			rejectedTasks.incrementAndGet();
+			throw new RejectedExecutionException("AIExecutor: queue full, task rejected (" + metrics() + ")");
+		}
+	}
+}
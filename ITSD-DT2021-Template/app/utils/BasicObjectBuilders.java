@@ -1,7 +1,10 @@
 package utils;
 
-import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,11 +15,13 @@ import structures.basic.Board;
 import structures.basic.Card;
 import structures.basic.EffectAnimation;
 import structures.basic.HumanPlayer;
+import structures.basic.ImageCorrection;
 import structures.basic.Monster;
 import structures.basic.Player;
 import structures.basic.Spell;
 import structures.basic.Tile;
 import structures.basic.Unit;
+import structures.basic.UnitAnimationSet;
 import structures.basic.abilities.A_U_RangedAttacker;
 import structures.basic.abilities.Ability;
 import structures.basic.abilities.AbilityToUnitLinkage;
@@ -34,6 +39,11 @@ public class BasicObjectBuilders {
 	@JsonIgnore
 	protected static ObjectMapper mapper = new ObjectMapper(); // Jackson Java Object Serializer, is used to read java objects from a file
 	
+	// Animation frames and image corrections are the same for every unit built from a config file,
+	// so one instance per config file is kept and shared by reference between all those units
+	private static final Map<String, UnitAnimationSet> sharedAnimations = new ConcurrentHashMap<String, UnitAnimationSet>();
+	private static final Map<String, ImageCorrection> sharedCorrections = new ConcurrentHashMap<String, ImageCorrection>();
+	
 	/**
 	 * This class produces a Card object (or anything that extends Card) given a configuration
 	 * file. Configuration files can be found in the conf/gameconfs directory. The card should
@@ -52,13 +62,13 @@ public class BasicObjectBuilders {
 	// and the resulting Card object stores the unitConfig file for later use in summoning
 	public static Card loadCard(String cardConfigFile, String unitConfigFile, int id, Class<? extends Card> classtype) {
 		try {
-			Card card = mapper.readValue(new File(cardConfigFile), classtype);
+			Card card = ConfigRegistry.load(cardConfigFile, classtype);
 			card.setId(id);
 			card.setConfigFile(unitConfigFile);
 			
 			// Set ability data to be held in card for reference from AI etc
 			if(AbilityToUnitLinkage.UnitAbility.containsKey(card.getCardname())) {
-				card.setAbilityList(AbilityToUnitLinkage.UnitAbility.get(card.getCardname()));
+				card.setAbilityList(AbilityToUnitLinkage.copyAbilities(card.getCardname()));
 			}
 			
 			// Set associated class type -- Monster only for this Builder
@@ -76,13 +86,13 @@ public class BasicObjectBuilders {
 	// Config file here stores the card's config file (for Spell casting use)
 	public static Card loadCard(String cardConfigFile, int id, Class<? extends Card> classtype) {
 		try {
-			Card card = mapper.readValue(new File(cardConfigFile), classtype);
+			Card card = ConfigRegistry.load(cardConfigFile, classtype);
 			card.setId(id);
 			card.setConfigFile(cardConfigFile);
 			
 			// Set ability data to be held in card for reference from AI etc
 			if(AbilityToUnitLinkage.UnitAbility.containsKey(card.getCardname())) {
-				card.setAbilityList(AbilityToUnitLinkage.UnitAbility.get(card.getCardname()));
+				card.setAbilityList(AbilityToUnitLinkage.copyAbilities(card.getCardname()));
 			}
 			
 			// Set associated class type -- Spell only for this Builder
@@ -104,7 +114,7 @@ public class BasicObjectBuilders {
 	 */
 	public static EffectAnimation loadEffect(String configurationFile) {
 		try {
-			EffectAnimation effect = mapper.readValue(new File(configurationFile), EffectAnimation.class);
+			EffectAnimation effect = ConfigRegistry.load(configurationFile, EffectAnimation.class);
 			return effect;
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -125,7 +135,7 @@ public class BasicObjectBuilders {
 	public static Unit loadUnit(String configFile, int id,  Class<? extends Unit> classType) {
 		
 		try {
-			Unit unit = mapper.readValue(new File(configFile), classType);
+			Unit unit = loadSharingAppearance(configFile, classType);
 			unit.setId(id);
 			return unit;
 		} catch (Exception e) {
@@ -138,8 +148,8 @@ public class BasicObjectBuilders {
 	public static Monster loadMonsterUnit(String u_configFile, Card statsRef, Player p, Class<? extends Monster> classType) {
 
 		try {
-			System.out.println("configFile name in objectbuilder is: "+ u_configFile);
-			Monster mUnit = mapper.readValue(new File(u_configFile), classType);
+			GameLog.info(() -> "configFile name in objectbuilder is: "+ u_configFile);
+			Monster mUnit = loadSharingAppearance(u_configFile, classType);
 			
 			// Set monster attributes from reference Card info
 			mUnit.setId(statsRef.getId());
@@ -151,8 +161,8 @@ public class BasicObjectBuilders {
 			// Set Player owner
 			mUnit.setOwner(p);
 			
-			System.out.println("mUnit has name " + mUnit.getName());
-			System.out.println("mUnit has ID " + mUnit.getId());
+			GameLog.info(() -> "mUnit has name " + mUnit.getName());
+			GameLog.info(() -> "mUnit has ID " + mUnit.getId());
 			
 			// Ability setting
 			if(mUnit.getMonsterAbility() == null) {	mUnit.setAbility(new ArrayList <Ability> ());	}
@@ -181,7 +191,7 @@ public class BasicObjectBuilders {
 	public static Avatar loadAvatar(String configFile, int id, Player p, Class<? extends Avatar> classType) {
 		
 		try {
-			Avatar unit = mapper.readValue(new File(configFile), classType);
+			Avatar unit = loadSharingAppearance(configFile, classType);
 			unit.setId(id);
 			unit.setOwner(p);
 
@@ -201,6 +211,48 @@ public class BasicObjectBuilders {
 		
 	}
 
+	// Binds a unit from its config file with the shared animation set and image correction of that file. Once the appearance
+	// is shared the unit is bound without it, so its frames are not built only to be thrown away
+	private static <T extends Unit> T loadSharingAppearance(String configFile, Class<T> classType) throws IOException {
+		
+		UnitAnimationSet animations = sharedAnimations.get(configFile);
+		ImageCorrection correction = sharedCorrections.get(configFile);
+		if (animations == null || correction == null) {
+			// First unit from this config file, its appearance becomes the shared one
+			T unit = ConfigRegistry.load(configFile, classType);
+			shareAppearance(configFile, unit);
+			return unit;
+		}
+		
+		T unit = ConfigRegistry.loadWithoutAppearance(configFile, classType);
+		unit.setTemplate(configFile);
+		unit.setAnimations(animations);
+		unit.setCorrection(correction);
+		return unit;
+	}
+
+	// Replaces the freshly read animation set and image correction of a unit with the shared instances for its config file.
+	// The config file is also the unit's template, the front end gets the shared appearance once per template
+	private static void shareAppearance(String configFile, Unit unit) {
+		
+		unit.setTemplate(configFile);
+		
+		if (unit.getAnimations() != null) {
+			unit.setAnimations(sharedAnimations.computeIfAbsent(configFile, f -> {
+				// Frame list is shared from now on, make sure it is never changed
+				UnitAnimationSet animations = unit.getAnimations();
+				if (animations.getAllFrames() != null) {
+					animations.setAllFrames(List.copyOf(animations.getAllFrames()));
+				}
+				return animations;
+			}));
+		}
+		
+		if (unit.getCorrection() != null) {
+			unit.setCorrection(sharedCorrections.computeIfAbsent(configFile, f -> unit.getCorrection()));
+		}
+	}
+
 	/**
 	 * Generates a tile object with x and y indices
 	 * @param x
@@ -0,0 +1,117 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import structures.basic.Unit;
+
+/**
+ * In-memory registry of the configuration files in conf/gameconfs. Every file listed in
+ * StaticConfFiles is parsed once (when the registry is first used) and kept as a JSON tree,
+ * keyed by its StaticConfFiles path. The object builders then bind a fresh object from the
+ * cached tree, so each caller still gets its own mutable Card/Unit/Tile but building a new
+ * game or summoning a unit no longer reads from the filesystem.
+ *
+ * Files that are not listed in StaticConfFiles are parsed the first time they are asked for
+ * and cached from then on.
+ *
+ * Units can also be bound without their appearance (animations and image correction), for
+ * when the object builders already hold the shared appearance of the config file.
+ *
+ */
+public class ConfigRegistry {
+
+	private static final ObjectMapper mapper = new ObjectMapper(); // Jackson Java Object Serializer, is used to read java objects from a file
+	private static final Map<String, JsonNode> configs = new ConcurrentHashMap<String, JsonNode>(); // Parsed config file trees, never modified after parsing
+	private static final ObjectMapper withoutAppearance = mapper.copy().addMixIn(Unit.class, SkipAppearance.class); // Skips the appearance of Units (and subclasses)
+
+	// Mix-in for withoutAppearance
+	@JsonIgnoreProperties({"animations", "correction"})
+	private static abstract class SkipAppearance {}
+
+	static {
+		preloadStaticConfFiles();
+	}
+
+	private ConfigRegistry() {}
+
+
+	/**
+	 * Produces a new object of the given type from a configuration file. The file is only
+	 * read from disk the first time it is requested.
+	 * @param configFile
+	 * @param classType
+	 * @return
+	 * @throws IOException
+	 */
+	public static <T> T load(String configFile, Class<T> classType) throws IOException {
+		return mapper.treeToValue(getConfig(configFile), classType);
+	}
+
+	/**
+	 * Same as load, but the unit's animations and image correction are skipped (left null) rather
+	 * than bound, so none of their frames are built
+	 * @param configFile
+	 * @param classType
+	 * @return
+	 * @throws IOException
+	 */
+	public static <T extends Unit> T loadWithoutAppearance(String configFile, Class<T> classType) throws IOException {
+		return withoutAppearance.treeToValue(getConfig(configFile), classType);
+	}
+
+	/**
+	 * Returns the parsed (shared) JSON tree of a configuration file. Callers must not
+	 * modify the returned tree.
+	 * @param configFile
+	 * @return
+	 * @throws IOException
+	 */
+	public static JsonNode getConfig(String configFile) throws IOException {
+		JsonNode config = configs.get(configFile);
+		if (config == null) {
+			config = mapper.readTree(new File(configFile));
+			JsonNode previous = configs.putIfAbsent(configFile, config);
+			if (previous != null) config = previous;
+		}
+		return config;
+	}
+
+	// Number of configuration files held in memory
+	public static int size() {
+		return configs.size();
+	}
+
+
+	/** Startup loading **/
+
+	// Parse every config file path listed in StaticConfFiles
+	private static void preloadStaticConfFiles() {
+
+		for (Field field : StaticConfFiles.class.getDeclaredFields()) {
+
+			int modifiers = field.getModifiers();
+			if (!Modifier.isStatic(modifiers) || field.getType() != String.class) {
+				continue;
+			}
+
+			String configFile = null;
+			try {
+				configFile = (String) field.get(null);
+				getConfig(configFile);
+			} catch (Exception e) {
+				System.err.println("ConfigRegistry: could not load config file " + configFile);
+			}
+		}
+
+		System.out.println("ConfigRegistry: " + configs.size() + " config files loaded");
+	}
+}
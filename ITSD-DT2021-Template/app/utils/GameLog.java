@@ -0,0 +1,59 @@
+package utils;
+
+import java.util.function.Supplier;
+
+/**
+ * Console log of the game logic. The game logic reports what it does on every action, which is
+ * useful when following a game in the browser but would dominate the run time of simulated
+ * games, where thousands of games are played at once.
+ *
+ * Logging can be muted for the calling thread only (see runMuted), so a headless game muting its
+ * own logging does not change what the other games or sessions print, and nothing is muted for
+ * the JVM as a whole. Messages that have to be built (concatenations) are passed as a Supplier,
+ * which is only called when logging is on, so a muted game does not build its log strings.
+ *
+ */
+public final class GameLog {
+
+	// Number of runMuted calls the current thread is in, logging is on when 0
+	private static final ThreadLocal<int[]> mutedDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+
+	private GameLog() {}
+
+	// Whether the current thread logs
+	public static boolean enabled() {
+		return mutedDepth.get()[0] == 0;
+	}
+
+	public static void info(String message) {
+		if (enabled()) System.out.println(message);
+	}
+
+	// The message is only built when the current thread logs
+	public static void info(Supplier<String> message) {
+		if (enabled()) System.out.println(message.get());
+	}
+
+	// Run a task with logging muted on the current thread
+	public static void runMuted(Runnable task) {
+		int[] depth = mutedDepth.get();
+		depth[0]++;
+		try {
+			task.run();
+		} finally {
+			depth[0]--;
+		}
+	}
+
+	// Same as runMuted for a task with a result
+	public static <T> T callMuted(Supplier<T> task) {
+		int[] depth = mutedDepth.get();
+		depth[0]++;
+		try {
+			return task.get();
+		} finally {
+			depth[0]--;
+		}
+	}
+}
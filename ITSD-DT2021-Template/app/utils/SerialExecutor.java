@@ -0,0 +1,127 @@
+package utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the tasks given to it one at a time, in the order they were given, on a shared executor
+ * (e.g. an Akka dispatcher). Each session gets one, so the events of a session are processed in
+ * order without the session owning a thread: a session that has nothing to do uses none.
+ *
+ * The queue is bounded. A task that does not fit is rejected with a RejectedExecutionException
+ * and the overflow handler is called (once), so the owner can log it and close the session rather
+ * than let the queue grow without limit. After shutdown() every new task is rejected.
+ *
+ * To be fair to the other sessions on the shared executor, at most batchSize tasks are run before
+ * the rest are handed back to it.
+ *
+ */
+public class SerialExecutor implements Executor {
+
+	private static final int batchSize = 16;		// Tasks run before the thread is given back to the shared executor
+
+	private final Executor shared;					// Executor the tasks are run on
+	private final int capacity;						// Tasks that can wait before new ones are rejected
+	private final Runnable onOverflow;				// Called the first time a task is rejected as the queue is full
+
+	private final Queue<Runnable> tasks;			// Tasks waiting to be run
+	private boolean scheduled;						// A drain of the queue is submitted to (or running on) the shared executor
+	private boolean closed;							// shutdown() was called
+	private boolean overflowed;						// onOverflow was called
+	private volatile Thread runner;					// Thread running this executor's tasks right now, null if none
+
+
+	public SerialExecutor(Executor shared, int capacity, Runnable onOverflow) {
+		this.shared = shared;
+		this.capacity = capacity;
+		this.onOverflow = onOverflow;
+		this.tasks = new ArrayDeque<Runnable>();
+	}
+
+	@Override
+	public void execute(Runnable task) {
+
+		boolean overflow = false;
+		synchronized (this) {
+			if (closed) {
+				throw new RejectedExecutionException("SerialExecutor: shut down, task rejected");
+			}
+			if (tasks.size() >= capacity) {
+				overflow = !overflowed;
+				overflowed = true;
+			} else {
+				tasks.add(task);
+				if (!scheduled) {
+					try {
+						shared.execute(this::drain);
+					} catch (RejectedExecutionException e) {
+						tasks.remove(task);
+						throw e;
+					}
+					scheduled = true;
+				}
+				return;
+			}
+		}
+
+		if (overflow) onOverflow.run();
+		throw new RejectedExecutionException("SerialExecutor: " + capacity + " tasks waiting, task rejected");
+	}
+
+	// Whether the calling thread is running one of this executor's tasks
+	public boolean isRunnerThread() {
+		return Thread.currentThread() == runner;
+	}
+
+	// Reject new tasks from now on, returns the tasks that were waiting and will not be run
+	public List<Runnable> shutdown() {
+		synchronized (this) {
+			closed = true;
+			List<Runnable> dropped = new ArrayList<Runnable>(tasks);
+			tasks.clear();
+			return dropped;
+		}
+	}
+
+	// Number of tasks waiting to be run
+	public synchronized int getQueueDepth() {
+		return tasks.size();
+	}
+
+	// Runs up to batchSize tasks, then resubmits itself if there are more
+	private void drain() {
+
+		runner = Thread.currentThread();
+		try {
+			for (int run = 0; run < batchSize; run++) {
+				Runnable task;
+				synchronized (this) {
+					task = tasks.poll();
+					if (task == null) {
+						scheduled = false;
+						return;
+					}
+				}
+				try {
+					task.run();
+				} catch (Throwable t) {
+					t.printStackTrace();
+				}
+			}
+		} finally {
+			runner = null;
+		}
+
+		synchronized (this) {
+			if (tasks.isEmpty()) {
+				scheduled = false;
+				return;
+			}
+		}
+		shared.execute(this::drain);
+	}
+}